@@ -189,6 +189,20 @@ public final class ModOptions {
 		@Comment("Enable lava particle rain splash effect on Netherrack and Magma blocks")
 		public static boolean enableNetherrackMagmaSplashEffect = true;
 
+		@Option("Rain Splash Density")
+		@DefaultValue("100")
+		@LangKey(rain.PREFIX + ".SplashDensity")
+		@RangeInt(min = 0, max = 200)
+		@Comment("Percentage of the normal number of rain splashes to generate")
+		public static int splashDensity = 100;
+
+		@Option("Precipitation Tick Budget")
+		@DefaultValue("5.0")
+		@LangKey(rain.PREFIX + ".TickBudget")
+		@RangeFloat(min = 0.0F, max = 50.0F)
+		@Comment("Milliseconds per client tick that rain and snow may use before range and splashes are scaled back (0 to disable)")
+		public static float precipitationBudget = 5.0F;
+
 	}
 
 	public static final String CATEGORY_FOG = "fog";
@@ -358,6 +372,13 @@ public final class ModOptions {
 		@Comment("Block radius/range around player for special effect application")
 		public static int specialEffectRange = 24;
 
+		@Option("Particle Frame Time Target")
+		@DefaultValue("25")
+		@LangKey(effects.PREFIX + ".FrameTarget")
+		@RangeInt(min = 0, max = 100)
+		@Comment("Frame time in milliseconds above which effect particle spawning is throttled (0 to disable)")
+		public static int particleFrameTarget = 25;
+
 		@Option("Disable Water Suspend Particles")
 		@DefaultValue("false")
 		@LangKey(effects.PREFIX + ".Suspend")
@@ -557,6 +578,13 @@ public final class ModOptions {
 		@Comment("true to match first person arm swing; false to match 3rd person leg animation")
 		public static boolean firstPersonFootstepCadence = true;
 
+		@Option("Footstep Time Budget")
+		@DefaultValue("1000")
+		@LangKey(sound.PREFIX + ".FootstepBudget")
+		@RangeInt(min = 0, max = 50000)
+		@Comment("Microseconds per tick to spend generating entity footsteps (0 for no limit)")
+		public static int footstepBudget = 1000;
+
 		@Option("Armor Sound")
 		@DefaultValue("true")
 		@LangKey(sound.PREFIX + ".Armor")
@@ -723,6 +751,24 @@ public final class ModOptions {
 			@Comment("Alias for the command")
 			public static String commandAliasCalc = "c math";
 		}
+
+		@Category("/dsfootsteps")
+		public static class footsteps {
+
+			protected static final String PREFIX = commands.PREFIX + ".Footsteps";
+
+			@Option("name")
+			@DefaultValue("dsfootsteps")
+			@LangKey(footsteps.PREFIX + ".Name")
+			@Comment("Name of the command")
+			public static String commandNameFootsteps = "dsfootsteps";
+
+			@Option("alias")
+			@DefaultValue("dsfs")
+			@LangKey(footsteps.PREFIX + ".Alias")
+			@Comment("Alias for the command")
+			public static String commandAliasFootsteps = "dsfs";
+		}
 	}
 
 	public static final String CATEGORY_PROFILES = "profiles";
@@ -98,6 +98,17 @@ public class AuroraBand {
 			this.cycle -= 360.0F;
 	}
 
+	/**
+	 * Hands the panels back to the pool. The band must not be used for anything
+	 * that needs the panels afterwards.
+	 */
+	public void release() {
+		if (this.nodes != null) {
+			PanelPool.release(this.nodes);
+			this.nodes = null;
+		}
+	}
+
 	public AuroraBand copy(final int offset) {
 		final Panel[] newNodes = new Panel[this.nodes.length];
 		for (int i = 0; i < this.nodes.length; i++)
@@ -159,7 +170,7 @@ public class AuroraBand {
 
 	@Nonnull
 	protected Panel[] populate(final boolean noTaper, final boolean fixedHeight) {
-		final Panel[] nodeList = new Panel[this.length];
+		final Panel[] nodeList = PanelPool.acquire(this.length);
 		final int bound = this.length / 2 - 1;
 
 		float angleTotal = 0.0F;
@@ -175,7 +186,7 @@ public class AuroraBand {
 				final int idx = i * 8 + k;
 				if (idx == bound) {
 					final float amplitude = fixedHeight ? AURORA_AMPLITUDE : (7.0F + this.random.nextFloat());
-					nodeList[idx] = new Panel(0.0F, amplitude, 0.0F, angle);
+					nodeList[idx].set(0.0F, amplitude, 0.0F, angle);
 				} else {
 					float y;
 					if (fixedHeight)
@@ -191,7 +202,7 @@ public class AuroraBand {
 					final float z = node.posZ - (MathStuff.sin(subAngleRads) * this.nodeLength);
 					final float x = node.posX - (MathStuff.cos(subAngleRads) * this.nodeLength);
 
-					nodeList[idx] = new Panel(x, y, z, subAngle);
+					nodeList[idx].set(x, y, z, subAngle);
 				}
 			}
 		}
@@ -219,7 +230,7 @@ public class AuroraBand {
 				final float z = node.posZ + (MathStuff.sin(subAngleRads) * this.nodeLength);
 				final float x = node.posX + (MathStuff.cos(subAngleRads) * this.nodeLength);
 
-				nodeList[j * 8 + h] = new Panel(x, y, z, subAngle);
+				nodeList[j * 8 + h].set(x, y, z, subAngle);
 			}
 		}
 
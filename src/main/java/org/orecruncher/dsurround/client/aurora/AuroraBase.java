@@ -47,6 +47,7 @@ public abstract class AuroraBase implements IAurora {
 	protected final float offset;
 	protected final AuroraLifeTracker tracker;
 	protected final AuroraColor colors;
+	protected final float[] fadeCurve;
 
 	protected final EntityPlayer player;
 	protected final IDimensionInfo dimInfo;
@@ -68,6 +69,7 @@ public abstract class AuroraBase implements IAurora {
 		final AuroraGeometry geo = AuroraGeometry.get(this.random);
 		this.band = new AuroraBand(this.random, geo, flag, flag);
 		this.tracker = new AuroraLifeTracker(AuroraUtils.AURORA_PEAK_AGE, AuroraUtils.AURORA_AGE_RATE);
+		this.fadeCurve = buildFadeCurve();
 
 		this.player = EnvironState.getPlayer();
 		this.dimInfo = EnvironState.getDimensionInfo();
@@ -98,8 +100,34 @@ public abstract class AuroraBase implements IAurora {
 		return !isAlive();
 	}
 
+	@Override
+	public void release() {
+		this.band.release();
+	}
+
+	/**
+	 * Alpha of the aurora at each point of its life. Worked out once when the
+	 * aurora spawns so that getting the alpha is a lookup. Only fields of this
+	 * class may be used by fade() since it is called during construction.
+	 */
+	@Nonnull
+	private float[] buildFadeCurve() {
+		final int peak = this.tracker.getPeakAge();
+		final float[] curve = new float[peak + 1];
+		for (int i = 0; i <= peak; i++)
+			curve[i] = fade((float) i / (float) peak);
+		return curve;
+	}
+
+	/**
+	 * Alpha of the aurora for the specified age ratio.
+	 */
+	protected float fade(final float ageRatio) {
+		return (ageRatio * this.band.getAlphaLimit()) / 255;
+	}
+
 	protected float getAlpha() {
-		return (this.tracker.ageRatio() * this.band.getAlphaLimit()) / 255;
+		return this.fadeCurve[this.tracker.getTimer()];
 	}
 
 	protected double getTranslationX(final float partialTick) {
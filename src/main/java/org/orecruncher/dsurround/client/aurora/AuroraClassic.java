@@ -24,8 +24,9 @@
 
 package org.orecruncher.dsurround.client.aurora;
 
+import java.nio.ByteBuffer;
+
 import org.lwjgl.opengl.GL11;
-import org.orecruncher.lib.Color;
 import org.orecruncher.lib.gfx.OpenGlState;
 
 import net.minecraft.client.renderer.BufferBuilder;
@@ -38,8 +39,11 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public final class AuroraClassic extends AuroraBase {
 
+	private final AuroraMesh mesh;
+
 	public AuroraClassic(final long seed) {
 		super(seed);
+		this.mesh = new AuroraMesh(this.band, getBaseColor(), getFadeColor());
 	}
 
 	@Override
@@ -51,17 +55,13 @@ public final class AuroraClassic extends AuroraBase {
 	@Override
 	public void render(final float partialTick) {
 
-		final float alpha = getAlpha();
-		final Tessellator tess = Tessellator.getInstance();
-		final BufferBuilder renderer = tess.getBuffer();
-
 		final double tranY = getTranslationY(partialTick);
 		final double tranX = getTranslationX(partialTick);
 		final double tranZ = getTranslationZ(partialTick);
 
-		final Color base = getBaseColor();
-		final Color fade = getFadeColor();
-		final double zero = 0.0D;
+		// The band copies only differ in where they are drawn
+		final float cycle = this.band.getCycle() + AuroraBand.AURORA_SPEED * partialTick;
+		final ByteBuffer data = this.mesh.animate(cycle, getAlpha());
 
 		final OpenGlState glState = OpenGlState.push();
 
@@ -75,70 +75,19 @@ public final class AuroraClassic extends AuroraBase {
 		GlStateManager.disableCull();
 		GlStateManager.depthMask(false);
 
-		this.band.translate(partialTick);
-		final Panel[] array = this.band.getNodeList();
+		final Tessellator tess = Tessellator.getInstance();
+		final BufferBuilder renderer = tess.getBuffer();
 
 		for (int b = 0; b < this.bandCount; b++) {
-
 			GlStateManager.pushMatrix();
 			GlStateManager.translate(tranX, tranY, tranZ + this.offset * b);
 			GlStateManager.scale(0.5D, 8.0D, 0.5D);
 
+			data.position(0);
 			renderer.begin(GL11.GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
-			for (int i = 0; i < array.length - 1; i++) {
-
-				final Panel node = array[i];
-
-				final double posY = node.getModdedY();
-				final double posX = node.tetX;
-				final double posZ = node.tetZ;
-				final double tetX = node.tetX2;
-				final double tetZ = node.tetZ2;
-
-				final double posX2;
-				final double posZ2;
-				final double tetX2;
-				final double tetZ2;
-				final double posY2;
-
-				if (i < array.length - 2) {
-					final Panel nodePlus = array[i + 1];
-					posX2 = nodePlus.tetX;
-					posZ2 = nodePlus.tetZ;
-					tetX2 = nodePlus.tetX2;
-					tetZ2 = nodePlus.tetZ2;
-					posY2 = nodePlus.getModdedY();
-				} else {
-					posX2 = tetX2 = node.posX;
-					posZ2 = tetZ2 = node.getModdedZ();
-					posY2 = 0.0D;
-				}
-
-				// Front
-				renderer.pos(posX, zero, posZ).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(posX, posY, posZ).color(fade.red, fade.green, fade.blue, 0).endVertex();
-				renderer.pos(posX2, posY2, posZ2).color(fade.red, fade.green, fade.blue, 0).endVertex();
-				renderer.pos(posX2, posY2, posZ2).color(fade.red, fade.green, fade.blue, 0).endVertex();
-				renderer.pos(posX2, zero, posZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(posX, zero, posZ).color(base.red, base.green, base.blue, alpha).endVertex();
-
-				// Bottom
-				renderer.pos(posX, zero, posZ).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(posX2, zero, posZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(tetX2, zero, tetZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(tetX2, zero, tetZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(tetX, zero, tetZ).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(posX, zero, posZ).color(base.red, base.green, base.blue, alpha).endVertex();
-
-				// Back
-				renderer.pos(tetX, zero, tetZ).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(tetX, posY, tetZ).color(fade.red, fade.green, fade.blue, 0).endVertex();
-				renderer.pos(tetX2, posY2, tetZ2).color(fade.red, fade.green, fade.blue, 0).endVertex();
-				renderer.pos(tetX2, posY2, tetZ2).color(fade.red, fade.green, fade.blue, 0).endVertex();
-				renderer.pos(tetX2, zero, tetZ2).color(base.red, base.green, base.blue, alpha).endVertex();
-				renderer.pos(tetX, zero, tetZ).color(base.red, base.green, base.blue, alpha).endVertex();
-			}
+			renderer.putBulkData(data);
 			tess.draw();
+
 			GlStateManager.popMatrix();
 		}
 
@@ -47,6 +47,13 @@ public final class AuroraFactory {
 			return new AuroraClassic(seed);
 	}
 
+	/**
+	 * Number of band panel arrays waiting to be reused.
+	 */
+	public static int getPooledBands() {
+		return PanelPool.size();
+	}
+
 	/**
 	 * Preset geometry of an Aurora. A preset is selected by the server when an
 	 * Aurora spawns.
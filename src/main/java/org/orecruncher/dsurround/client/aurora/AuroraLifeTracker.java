@@ -36,6 +36,14 @@ public class AuroraLifeTracker {
 		this.timer = 0;
 	}
 
+	public int getTimer() {
+		return this.timer;
+	}
+
+	public int getPeakAge() {
+		return this.peakAge;
+	}
+
 	public float ageRatio() {
 		return (float) this.timer / (float) this.peakAge;
 	}
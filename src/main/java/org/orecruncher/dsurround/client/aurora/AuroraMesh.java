@@ -0,0 +1,206 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.aurora;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.math.MathStuff;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Triangles of an aurora band in the POSITION_COLOR layout. The band is baked
+ * once; what stays is the travelling wave. The wave at a panel is
+ * cos(phase + cycle), which splits into cos(phase) and sin(phase) baked per
+ * panel and cos(cycle) and sin(cycle) worked out once per frame, so animating
+ * needs no trig per panel. All band copies share the mesh. Nothing in here
+ * touches GL.
+ */
+@SideOnly(Side.CLIENT)
+public final class AuroraMesh {
+
+	private static final int VERTEX_BYTES = 16;
+	private static final int VERTS_PER_PANEL = 18;
+	private static final int POS_Y = 4;
+	private static final int POS_Z = 8;
+	private static final int COLOR = 12;
+
+	// Per panel
+	private final float[] cosPhase;
+	private final float[] sinPhase;
+	private final float[] baseY;
+	private final float[] waveZ;
+	private final float[] waveY;
+
+	// Per vertex
+	private final int[] panel;
+	private final float[] vertZ;
+	private final boolean[] top;
+	private final boolean[] solid;
+
+	private final ByteBuffer data;
+	private final int vertexCount;
+
+	private float alpha = -1F;
+
+	public AuroraMesh(@Nonnull final AuroraBand band, @Nonnull final Color base, @Nonnull final Color fade) {
+		final Panel[] array = band.getNodeList();
+		final int panels = array.length;
+
+		this.cosPhase = new float[panels];
+		this.sinPhase = new float[panels];
+		this.baseY = new float[panels];
+		this.waveZ = new float[panels];
+		this.waveY = new float[panels];
+		for (int i = 0; i < panels; i++) {
+			final float phase = MathStuff.toRadians(i << 3);
+			this.cosPhase[i] = MathStuff.cos(phase);
+			this.sinPhase[i] = MathStuff.sin(phase);
+			this.baseY[i] = array[i].posY;
+		}
+
+		this.vertexCount = (panels - 1) * VERTS_PER_PANEL;
+		this.panel = new int[this.vertexCount];
+		this.vertZ = new float[this.vertexCount];
+		this.top = new boolean[this.vertexCount];
+		this.solid = new boolean[this.vertexCount];
+		this.data = ByteBuffer.allocate(this.vertexCount * VERTEX_BYTES).order(ByteOrder.nativeOrder());
+
+		// Same triangles AuroraClassic used to emit each frame. Side 0 is the
+		// front edge of a panel, side 1 the back edge, and side 2 the center
+		// of the last panel where the band closes.
+		int v = 0;
+		for (int i = 0; i < panels - 1; i++) {
+			final int next = i < panels - 2 ? i + 1 : i;
+			final int nextFront = i < panels - 2 ? 0 : 2;
+			final int nextBack = i < panels - 2 ? 1 : 2;
+
+			// Front
+			v = vertex(array, v, i, 0, false, base);
+			v = vertex(array, v, i, 0, true, fade);
+			v = vertex(array, v, next, nextFront, true, fade);
+			v = vertex(array, v, next, nextFront, true, fade);
+			v = vertex(array, v, next, nextFront, false, base);
+			v = vertex(array, v, i, 0, false, base);
+
+			// Bottom
+			v = vertex(array, v, i, 0, false, base);
+			v = vertex(array, v, next, nextFront, false, base);
+			v = vertex(array, v, next, nextBack, false, base);
+			v = vertex(array, v, next, nextBack, false, base);
+			v = vertex(array, v, i, 1, false, base);
+			v = vertex(array, v, i, 0, false, base);
+
+			// Back
+			v = vertex(array, v, i, 1, false, base);
+			v = vertex(array, v, i, 1, true, fade);
+			v = vertex(array, v, next, nextBack, true, fade);
+			v = vertex(array, v, next, nextBack, true, fade);
+			v = vertex(array, v, next, nextBack, false, base);
+			v = vertex(array, v, i, 1, false, base);
+		}
+	}
+
+	private int vertex(@Nonnull final Panel[] array, final int v, final int p, final int side, final boolean isTop,
+			@Nonnull final Color color) {
+		final Panel node = array[p];
+		final float x;
+		final float z;
+		if (side == 0) {
+			x = node.tetX;
+			z = node.posZ + node.sinDeg90;
+		} else if (side == 1) {
+			x = node.tetX2;
+			z = node.posZ + node.sinDeg270;
+		} else {
+			x = node.posX;
+			z = node.posZ;
+		}
+
+		this.panel[v] = p;
+		this.vertZ[v] = z;
+		// The top of the closing edge sits on the ground
+		this.top[v] = isTop && side != 2;
+		this.solid[v] = !isTop;
+
+		final int offset = v * VERTEX_BYTES;
+		this.data.putFloat(offset, x);
+		this.data.putFloat(offset + POS_Y, 0F);
+		this.data.putFloat(offset + POS_Z, z);
+		this.data.put(offset + COLOR, (byte) (int) (color.red * 255));
+		this.data.put(offset + COLOR + 1, (byte) (int) (color.green * 255));
+		this.data.put(offset + COLOR + 2, (byte) (int) (color.blue * 255));
+		// Top vertices are fully transparent, the others get the band alpha
+		this.data.put(offset + COLOR + 3, (byte) 0);
+		return v + 1;
+	}
+
+	public int getVertexCount() {
+		return this.vertexCount;
+	}
+
+	/**
+	 * Moves the band to the specified point of its cycle and applies the alpha.
+	 *
+	 * @param cycle Cycle of the band in degrees
+	 * @param alpha Alpha of the band bottom
+	 * @return Buffer with the vertex data ready to be drawn
+	 */
+	@Nonnull
+	public ByteBuffer animate(final float cycle, final float alpha) {
+		final float rads = MathStuff.toRadians(cycle);
+		final float cosC = MathStuff.cos(rads);
+		final float sinC = MathStuff.sin(rads);
+
+		for (int i = 0; i < this.cosPhase.length; i++) {
+			final float f = this.cosPhase[i] * cosC - this.sinPhase[i] * sinC;
+			this.waveZ[i] = f * AuroraBand.AURORA_AMPLITUDE;
+			final float y = this.baseY[i] + f * 3.0F;
+			this.waveY[i] = y < 0.0F ? 0.0F : y;
+		}
+
+		final boolean newAlpha = this.alpha != alpha;
+		final byte a = (byte) (int) (alpha * 255);
+		this.alpha = alpha;
+
+		for (int v = 0; v < this.vertexCount; v++) {
+			final int offset = v * VERTEX_BYTES;
+			final int p = this.panel[v];
+			this.data.putFloat(offset + POS_Z, this.vertZ[v] + this.waveZ[p]);
+			if (this.top[v])
+				this.data.putFloat(offset + POS_Y, this.waveY[p]);
+			if (newAlpha && this.solid[v])
+				this.data.put(offset + COLOR + 3, a);
+		}
+
+		this.data.position(0);
+		return this.data;
+	}
+}
@@ -78,8 +78,8 @@ public class AuroraShaderBand extends AuroraBase {
 	}
 
 	@Override
-	protected float getAlpha() {
-		return MathStuff.clamp((this.band.getAlphaLimit() / 255F) * this.tracker.ageRatio() * 2.0F, 0F, 1F);
+	protected float fade(final float ageRatio) {
+		return MathStuff.clamp((this.band.getAlphaLimit() / 255F) * ageRatio * 2.0F, 0F, 1F);
 	}
 
 	protected float getAuroraWidth() {
@@ -142,8 +142,6 @@ public class AuroraShaderBand extends AuroraBase {
 		if (this.program == null)
 			return;
 
-		this.band.translate(partialTick);
-
 		final double tranY = getTranslationY(partialTick);
 		final double tranX = getTranslationX(partialTick);
 		final double tranZ = getTranslationZ(partialTick);
@@ -64,4 +64,11 @@ public interface IAurora {
 	 */
 	public void render(final float partialTick);
 
+	/*
+	 * Releases resources the aurora holds so they can be reused by the next
+	 * aurora. Called once the aurora is no longer going to be updated or
+	 * rendered.
+	 */
+	void release();
+
 }
@@ -72,6 +72,19 @@ final class Panel {
 		this.angle = theta;
 	}
 
+	/**
+	 * Resets a pooled panel so it looks like it was freshly constructed.
+	 */
+	public void set(final float x, final float y, final float z, final float theta) {
+		this.posX = x;
+		this.posY = y;
+		this.posZ = z;
+		this.angle = theta;
+		this.dZ = this.dY = 0.0F;
+		this.cosDeg90 = this.cosDeg270 = this.sinDeg90 = this.sinDeg270 = 0.0F;
+		this.tetX = this.tetX2 = this.tetZ = this.tetZ2 = 0.0F;
+	}
+
 	public void setDeltaZ(final float f) {
 		this.dZ = f;
 	}
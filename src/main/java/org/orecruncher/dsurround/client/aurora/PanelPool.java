@@ -0,0 +1,81 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.aurora;
+
+import java.util.ArrayDeque;
+
+import javax.annotation.Nonnull;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Keeps the panel arrays of auroras that have gone away so the next aurora of
+ * the same length can reuse them rather than allocate a fresh set. Only one
+ * aurora is around at a time so the pool stays small.
+ */
+@SideOnly(Side.CLIENT)
+final class PanelPool {
+
+	private static final int MAX_POOLED = 4;
+
+	private static final Int2ObjectOpenHashMap<ArrayDeque<Panel[]>> pool = new Int2ObjectOpenHashMap<>();
+
+	private PanelPool() {
+
+	}
+
+	/**
+	 * Obtains an array of the specified length filled with panels. The panels
+	 * need to be reset before use.
+	 */
+	@Nonnull
+	static Panel[] acquire(final int length) {
+		final ArrayDeque<Panel[]> free = pool.get(length);
+		if (free != null && !free.isEmpty())
+			return free.pop();
+
+		final Panel[] nodes = new Panel[length];
+		for (int i = 0; i < length; i++)
+			nodes[i] = new Panel(0.0F, 0.0F, 0.0F, 0.0F);
+		return nodes;
+	}
+
+	static void release(@Nonnull final Panel[] nodes) {
+		ArrayDeque<Panel[]> free = pool.get(nodes.length);
+		if (free == null)
+			pool.put(nodes.length, free = new ArrayDeque<>(MAX_POOLED));
+		if (free.size() < MAX_POOLED)
+			free.push(nodes);
+	}
+
+	static int size() {
+		int count = 0;
+		for (final ArrayDeque<Panel[]> free : pool.values())
+			count += free.size();
+		return count;
+	}
+}
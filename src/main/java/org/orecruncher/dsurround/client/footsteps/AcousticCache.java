@@ -0,0 +1,149 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.event.BlockUpdateEvent;
+import org.orecruncher.dsurround.registry.RegistryDataEvent;
+import org.orecruncher.dsurround.registry.acoustics.IAcoustic;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Small per entity cache of resolved block acoustics for the block columns
+ * under and around the feet of an entity. Entities tend to step on the same
+ * handful of blocks over and over (walking in place, swimming, farming) so
+ * there is no need to go back to the world and the substrate maps for each
+ * strike. The cache is keyed by packed block position and is flushed whenever
+ * a block in the client world changes.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class AcousticCache {
+
+	// Keeps the cache from growing without bound when an entity is traveling
+	private static final int MAX_ENTRIES = 64;
+
+	// Bumped whenever cached information may have gone stale
+	private static int epoch;
+
+	private final Long2ObjectOpenHashMap<Entry> strikes = new Long2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<Entry> brushes = new Long2ObjectOpenHashMap<>();
+	private int cacheEpoch = epoch;
+
+	/**
+	 * Result of resolving a block column. The acoustics are what would be played
+	 * and the state is the block that supplied them. The offset is the vertical
+	 * adjustment of the resolved position relative to the strike position (+1 for
+	 * a carpet, -1 for a fence, 0 otherwise). A null acoustic array indicates the
+	 * column was resolved but is not an emitter.
+	 */
+	public static final class Entry {
+
+		public static final Entry NONE = new Entry(null, null, 0);
+
+		public final IBlockState state;
+		public final IAcoustic[] acoustics;
+		public final int offset;
+
+		public Entry(@Nullable final IBlockState state, @Nullable final IAcoustic[] acoustics, final int offset) {
+			this.state = state;
+			this.acoustics = acoustics;
+			this.offset = offset;
+		}
+	}
+
+	@Nullable
+	public Entry getStrike(final long pos) {
+		validate();
+		return this.strikes.get(pos);
+	}
+
+	public void putStrike(final long pos, @Nonnull final Entry entry) {
+		put(this.strikes, pos, entry);
+	}
+
+	@Nullable
+	public Entry getBrush(final long pos) {
+		validate();
+		return this.brushes.get(pos);
+	}
+
+	public void putBrush(final long pos, @Nonnull final Entry entry) {
+		put(this.brushes, pos, entry);
+	}
+
+	public void clear() {
+		this.strikes.clear();
+		this.brushes.clear();
+		this.cacheEpoch = epoch;
+	}
+
+	private void validate() {
+		if (this.cacheEpoch != epoch)
+			clear();
+	}
+
+	private static void put(@Nonnull final Long2ObjectOpenHashMap<Entry> map, final long pos,
+			@Nonnull final Entry entry) {
+		if (map.size() >= MAX_ENTRIES)
+			map.clear();
+		map.put(pos, entry);
+	}
+
+	/**
+	 * Flushes all acoustic caches. Used when the world they were built from
+	 * changes outside of the normal block update events.
+	 */
+	public static void invalidate() {
+		epoch++;
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (event.oldState != event.newState)
+			invalidate();
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld().isRemote)
+			invalidate();
+	}
+
+	@SubscribeEvent
+	public static void onRegistryReload(@Nonnull final RegistryDataEvent.Reload event) {
+		invalidate();
+	}
+}
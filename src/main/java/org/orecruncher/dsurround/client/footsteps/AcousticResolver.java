@@ -52,15 +52,23 @@ public class AcousticResolver {
 	protected final BlockMap blockMap;
 	protected final FootStrikeLocation loc;
 	protected final double distanceToCenter;
+	protected final AcousticCache cache;
 
 	protected final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
 
 	public AcousticResolver(@Nonnull final IBlockAccess world, @Nonnull final BlockMap map,
 			@Nonnull final FootStrikeLocation loc, final double distanceToCenter) {
+		this(world, map, loc, distanceToCenter, null);
+	}
+
+	public AcousticResolver(@Nonnull final IBlockAccess world, @Nonnull final BlockMap map,
+			@Nonnull final FootStrikeLocation loc, final double distanceToCenter,
+			@Nullable final AcousticCache cache) {
 		this.world = world;
 		this.blockMap = map;
 		this.loc = loc;
 		this.distanceToCenter = distanceToCenter;
+		this.cache = cache;
 	}
 
 	protected IBlockState getBlockStateFacade(@Nonnull final Vec3d pos) {
@@ -149,8 +157,39 @@ public class AcousticResolver {
 	}
 
 	@Nullable
-	protected Association resolve(@Nonnull Vec3d vec) {
+	protected Association resolve(@Nonnull final Vec3d vec) {
+		final BlockPos pos = new BlockPos(vec);
+		AcousticCache.Entry entry = null;
+		if (this.cache != null) {
+			final long key = pos.toLong();
+			entry = this.cache.getStrike(key);
+			if (entry == null) {
+				entry = resolveColumn(vec);
+				this.cache.putStrike(key, entry);
+			}
+		} else {
+			entry = resolveColumn(vec);
+		}
+
+		if (entry.acoustics == null) {
+			// Player has stepped on a non-emitter block as defined in the blockmap
+			return null;
+		}
+
+		// Let's play the fancy acoustics we have defined for the block
+		final BlockPos stepPos = entry.offset == 0 ? pos : pos.add(0, entry.offset, 0);
+		return new Association(entry.state, this.loc.rebase(stepPos), entry.acoustics);
+	}
+
+	/**
+	 * Works out the acoustics for the block column at the specified position. The
+	 * result does not depend on where within the block the foot landed so it can
+	 * be cached by block position.
+	 */
+	@Nonnull
+	protected AcousticCache.Entry resolveColumn(@Nonnull final Vec3d vec) {
 		IBlockState in = null;
+		int offset = 0;
 		IAcoustic[] acoustics = AcousticRegistry.EMPTY;
 
 		Vec3d tPos = vec.add(0, 1, 0);
@@ -170,7 +209,7 @@ public class AcousticResolver {
 				final IBlockState below = getBlockState(tPos);
 				acoustics = this.blockMap.getBlockAcoustics(below, Substrate.FENCE);
 				if (acoustics != AcousticRegistry.EMPTY) {
-					vec = tPos;
+					offset = -1;
 					in = below;
 				}
 			}
@@ -193,17 +232,13 @@ public class AcousticResolver {
 				}
 			}
 		} else {
-			vec = tPos;
+			offset = 1;
 			in = above;
 		}
 
-		if (acoustics == AcousticRegistry.NOT_EMITTER) {
-			// Player has stepped on a non-emitter block as defined in the blockmap
-			return null;
-		} else {
-			// Let's play the fancy acoustics we have defined for the block
-			return new Association(in, this.loc.rebase(new BlockPos(vec)), acoustics);
-		}
+		if (acoustics == AcousticRegistry.NOT_EMITTER)
+			return AcousticCache.Entry.NONE;
+		return new AcousticCache.Entry(in, acoustics, offset);
 	}
 
 }
@@ -0,0 +1,190 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.lib.OutOfBandTimerEMA;
+import org.orecruncher.lib.math.TimerEMA;
+
+import net.minecraft.client.entity.EntityPlayerSP;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Bounds the amount of time spent generating footsteps each tick. Entities
+ * submit a request when they update and the requests are processed at the end
+ * of the client tick, oldest served first and then nearest first, until the
+ * configured budget is used up. Whatever is left over is carried into the next
+ * tick; generators measure walked distance from where they last ran so an
+ * entity that waits does not lose steps. The player behind the keyboard is
+ * always processed.
+ */
+@SideOnly(Side.CLIENT)
+public final class FootstepScheduler {
+
+	public static final FootstepScheduler INSTANCE = new FootstepScheduler();
+
+	//@formatter:off
+	private static final Comparator<Request> PRIORITY =
+		Comparator.<Request>comparingInt(r -> r.isLocal ? 0 : 1)
+			.thenComparingInt(r -> r.lastServed)
+			.thenComparingDouble(r -> r.rangeSq);
+	//@formatter:on
+
+	/**
+	 * Scheduling state for an entity that generates footsteps. Owned by the
+	 * effect that drives the generator.
+	 */
+	public static final class Request {
+
+		private Generator generator;
+		private EntityLivingBase entity;
+		private double rangeSq;
+		private boolean isLocal;
+		private boolean isQueued;
+		private int lastServed;
+
+		private void serve() {
+			this.generator.generateFootsteps(this.entity);
+		}
+
+		private void release() {
+			this.generator = null;
+			this.entity = null;
+			this.isQueued = false;
+		}
+	}
+
+	private final List<Request> queue = new ArrayList<>();
+	private final TimerEMA timer = new OutOfBandTimerEMA("Footsteps");
+	private int tick;
+	private int served;
+	private int deferred;
+	private int overruns;
+
+	private FootstepScheduler() {
+
+	}
+
+	/**
+	 * Queues up footstep generation for the entity. If the request is still
+	 * pending from a prior tick it is refreshed with the current information.
+	 */
+	public void submit(@Nonnull final Request request, @Nonnull final Generator generator,
+			@Nonnull final EntityLivingBase entity, final double rangeSq) {
+		request.generator = generator;
+		request.entity = entity;
+		request.rangeSq = rangeSq;
+		request.isLocal = entity instanceof EntityPlayerSP;
+		if (!request.isQueued) {
+			request.isQueued = true;
+			this.queue.add(request);
+		}
+	}
+
+	/**
+	 * Withdraws a request. If it is still in the queue it will be discarded
+	 * without being served.
+	 */
+	public void cancel(@Nonnull final Request request) {
+		request.generator = null;
+		request.entity = null;
+	}
+
+	/**
+	 * Processes pending requests until the time budget is exhausted. At least one
+	 * request other than the local player is served each tick so that a slow
+	 * machine will still make progress through the queue.
+	 */
+	public void process() {
+		this.tick++;
+		this.served = 0;
+		this.deferred = 0;
+
+		if (this.queue.isEmpty()) {
+			this.timer.update(0);
+			return;
+		}
+
+		this.queue.sort(PRIORITY);
+
+		final long budget = ModOptions.sound.footstepBudget * 1000L;
+		final long start = System.nanoTime();
+		int remote = 0;
+		int i = 0;
+
+		for (; i < this.queue.size(); i++) {
+			final Request r = this.queue.get(i);
+			if (!r.isLocal && remote > 0 && budget > 0 && System.nanoTime() - start >= budget)
+				break;
+			if (r.entity != null && !r.entity.isDead) {
+				r.serve();
+				r.lastServed = this.tick;
+				this.served++;
+				if (!r.isLocal)
+					remote++;
+			}
+			r.release();
+		}
+
+		final long elapsed = System.nanoTime() - start;
+		this.timer.update(elapsed);
+		if (budget > 0 && elapsed > budget)
+			this.overruns++;
+
+		this.queue.subList(0, i).clear();
+		this.deferred = this.queue.size();
+	}
+
+	/**
+	 * Drops all pending requests. Used when the world changes or effect handlers
+	 * are being torn down.
+	 */
+	public void clear() {
+		for (final Request r : this.queue)
+			r.release();
+		this.queue.clear();
+		this.served = 0;
+		this.deferred = 0;
+	}
+
+	@Nonnull
+	public TimerEMA getTimer() {
+		return this.timer;
+	}
+
+	@Nonnull
+	public String getDiagnostic() {
+		return String.format("Footsteps: %d served, %d deferred, %d overruns", this.served, this.deferred,
+				this.overruns);
+	}
+}
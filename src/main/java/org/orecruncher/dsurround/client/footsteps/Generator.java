@@ -24,7 +24,6 @@
 
 package org.orecruncher.dsurround.client.footsteps;
 
-import java.util.Random;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
@@ -44,13 +43,11 @@ import org.orecruncher.dsurround.registry.footstep.FootprintStyle;
 import org.orecruncher.dsurround.registry.footstep.Substrate;
 import org.orecruncher.dsurround.registry.footstep.Variator;
 import org.orecruncher.dsurround.registry.sound.SoundRegistry;
-import org.orecruncher.lib.TimeUtils;
 import org.orecruncher.lib.chunk.ClientChunkCache;
 import org.orecruncher.lib.collections.ObjectArray;
 import org.orecruncher.lib.compat.EntityLivingBaseUtil;
 import org.orecruncher.lib.compat.EntityUtil;
 import org.orecruncher.lib.math.MathStuff;
-import org.orecruncher.lib.random.XorShiftRandom;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -59,6 +56,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -68,8 +66,8 @@ public class Generator {
 
 	public static final double PROBE_DEPTH = 1F / 16F;
 
-	protected static final Random RANDOM = XorShiftRandom.current();
 	protected static final int BRUSH_INTERVAL = 100;
+	protected static final double MAX_WALKED_SQ = 8D * 8D;
 
 	protected static final Consumer<Footprint> GENERATE_PRINT = print -> {
 		final Vec3d loc = print.getStepLocation();
@@ -78,8 +76,30 @@ public class Generator {
 				print.isRightFoot());
 	};
 
-	protected final Variator VAR;
 	protected final BlockMap blockMap;
+	protected final IBlockAccess world;
+
+	// Variator values bound at construction. The simulation consults these every
+	// tick so they are kept local to the generator.
+	protected final long immobileDuration;
+	protected final boolean eventOnJump;
+	protected final float landHardDistanceMin;
+	protected final double speedToJumpAsMultifootSq;
+	protected final double speedToRunSq;
+	protected final float stride;
+	protected final float strideStair;
+	protected final float strideLadder;
+	protected final boolean playWander;
+	protected final boolean playJump;
+	protected final float distanceToCenter;
+	protected final float rightFootOffset;
+	protected final float leftFootOffset;
+	protected final boolean hasFootprint;
+	protected final FootprintStyle footprintStyle;
+	protected final float footprintScale;
+
+	// Square of the horizontal speed of the entity for the current tick
+	protected double speedSq;
 
 	protected float dmwBase;
 	protected float dwmYChange;
@@ -111,20 +131,59 @@ public class Generator {
 	protected double distanceWalkedOnStepModified;
 	protected int pedometer;
 
+	// Where the entity was the last time footsteps were generated. The
+	// scheduler can defer an entity for a few ticks and the distance walked in
+	// the meantime must not be lost.
+	protected boolean hasWalkedFrom;
+	protected double walkedFromX;
+	protected double walkedFromY;
+	protected double walkedFromZ;
+
 	protected static final ObjectArray<IAcoustic> accents = new ObjectArray<>(4);
 	protected final ObjectArray<Footprint> footprints = new ObjectArray<>(4);
 	protected final SoundPlayer soundPlayer;
+	protected final AcousticCache acousticCache = new AcousticCache();
 
 	public Generator(@Nonnull final Variator var) {
-		this.VAR = var;
+		this(var, new SoundPlayer(var.VOLUME_SCALE), ClientChunkCache.instance());
+	}
+
+	public Generator(@Nonnull final Variator var, @Nonnull final SoundPlayer player,
+			@Nonnull final IBlockAccess world) {
 		this.blockMap = RegistryManager.FOOTSTEPS.getBlockMap();
-		this.soundPlayer = new SoundPlayer(this.VAR.VOLUME_SCALE);
+		this.soundPlayer = player;
+		this.world = world;
+
+		this.immobileDuration = var.IMMOBILE_DURATION_MS;
+		this.eventOnJump = var.EVENT_ON_JUMP;
+		this.landHardDistanceMin = var.LAND_HARD_DISTANCE_MIN;
+		this.speedToJumpAsMultifootSq = var.SPEED_TO_JUMP_AS_MULTIFOOT_SQ;
+		this.speedToRunSq = var.SPEED_TO_RUN_SQ;
+		this.stride = var.STRIDE;
+		this.strideStair = var.STRIDE_STAIR;
+		this.strideLadder = var.STRIDE_LADDER;
+		this.playWander = var.PLAY_WANDER;
+		this.playJump = var.PLAY_JUMP;
+		this.distanceToCenter = var.DISTANCE_TO_CENTER;
+		this.rightFootOffset = var.RIGHT_FOOT_OFFSET;
+		this.leftFootOffset = var.LEFT_FOOT_OFFSET;
+		this.hasFootprint = var.HAS_FOOTPRINT;
+		this.footprintStyle = var.FOOTPRINT_STYLE;
+		this.footprintScale = var.FOOTPRINT_SCALE;
 	}
 
 	public int getPedometer() {
 		return this.pedometer;
 	}
 
+	/**
+	 * Drops the acoustics this generator has cached for the blocks around the
+	 * entity. Used when the blocks it walks on change outside of the client world.
+	 */
+	public void clearAcousticCache() {
+		this.acousticCache.clear();
+	}
+
 	public void generateFootsteps(@Nonnull final EntityLivingBase entity) {
 
 		// If an entity is a passenger or is sleeping then no footsteps to process
@@ -143,14 +202,12 @@ public class Generator {
 		this.isInWater = entity.isInWater();
 		this.isSneaking = entity.isSneaking();
 		this.isJumping = EntityLivingBaseUtil.isJumping(entity);
+		this.speedSq = entity.motionX * entity.motionX + entity.motionZ * entity.motionZ;
 
 		simulateFootsteps(entity);
 		simulateAirborne(entity);
 		simulateBrushes(entity);
 
-		// Flush!
-		this.soundPlayer.think();
-
 		if (this.footprints.size() > 0) {
 			this.footprints.forEach(GENERATE_PRINT);
 			this.footprints.clear();
@@ -160,11 +217,14 @@ public class Generator {
 			this.pedometer++;
 
 		// Player jump breath
-		if (this.didJump && ModOptions.sound.enableJumpSound && this.VAR.PLAY_JUMP && !this.isSneaking) {
+		if (this.didJump && ModOptions.sound.enableJumpSound && this.playJump && !this.isSneaking) {
 			this.soundPlayer.playAcoustic(entity.getPositionVector(), RegistryManager.FOOTSTEPS.JUMP, EventType.JUMP,
 					null);
 		}
 
+		// Flush! Anything played this tick goes out as a single mix
+		this.soundPlayer.think();
+
 		if (SoundEngine.getVolume(SoundRegistry.FOOTSTEPS) > 0) {
 			EntityUtil.setNextStepDistance(entity, Integer.MAX_VALUE);
 		} else {
@@ -175,7 +235,7 @@ public class Generator {
 	}
 
 	protected boolean stoppedImmobile(float reference) {
-		final long current = TimeUtils.currentTimeMillis();
+		final long current = this.soundPlayer.currentTimeMillis();
 		final float diff = this.lastReference - reference;
 		this.lastReference = reference;
 		if (!this.isImmobile && diff == 0f) {
@@ -183,17 +243,32 @@ public class Generator {
 			this.isImmobile = true;
 		} else if (this.isImmobile && diff != 0f) {
 			this.isImmobile = false;
-			return current - this.timeImmobile > this.VAR.IMMOBILE_DURATION;
+			return current - this.timeImmobile > this.immobileDuration;
 		}
 
 		return false;
 	}
 
 	protected void updateWalkedOnStep(@Nonnull final EntityLivingBase entity) {
-		final double dX = entity.posX - entity.prevPosX;
-		final double dY = entity.posY - entity.prevPosY;
-		final double dZ = entity.posZ - entity.prevPosZ;
-		this.distanceWalkedOnStepModified += Math.sqrt(dX * dX + dY * dY + dZ * dZ) * 0.6F;
+		if (!this.hasWalkedFrom) {
+			this.walkedFromX = entity.prevPosX;
+			this.walkedFromY = entity.prevPosY;
+			this.walkedFromZ = entity.prevPosZ;
+			this.hasWalkedFrom = true;
+		}
+
+		final double dX = entity.posX - this.walkedFromX;
+		final double dY = entity.posY - this.walkedFromY;
+		final double dZ = entity.posZ - this.walkedFromZ;
+		final double distSq = dX * dX + dY * dY + dZ * dZ;
+
+		// Anything further than this was a teleport rather than a walk
+		if (distSq < MAX_WALKED_SQ)
+			this.distanceWalkedOnStepModified += Math.sqrt(distSq) * 0.6F;
+
+		this.walkedFromX = entity.posX;
+		this.walkedFromY = entity.posY;
+		this.walkedFromZ = entity.posZ;
 	}
 
 	protected void simulateFootsteps(@Nonnull final EntityLivingBase entity) {
@@ -214,7 +289,7 @@ public class Generator {
 		if (this.scalStat != scal < 0.001f) {
 			this.scalStat = !this.scalStat;
 
-			if (this.scalStat && this.VAR.PLAY_WANDER && !hasSpecialStoppingConditions(entity)) {
+			if (this.scalStat && this.playWander && !hasSpecialStoppingConditions(entity)) {
 				playSinglefoot(entity, 0d, EventType.WANDER, this.isRightFoot);
 			}
 		}
@@ -235,12 +310,12 @@ public class Generator {
 			float distance = 0f;
 
 			if (entity.isOnLadder() && !entity.onGround) {
-				distance = this.VAR.STRIDE_LADDER;
+				distance = this.strideLadder;
 			} else if (!this.isInWater && MathStuff.abs(this.yPosition - entity.posY) > 0.4d) {
 				// This ensures this does not get recorded as landing, but as a
 				// step
 				if (this.yPosition < entity.posY) { // Going upstairs
-					distance = this.VAR.STRIDE_STAIR;
+					distance = this.strideStair;
 					event = speedDisambiguator(entity, EventType.UP, EventType.UP_RUN);
 				} else if (!this.isSneaking) { // Going downstairs
 					distance = -1f;
@@ -250,7 +325,7 @@ public class Generator {
 				this.dwmYChange = distanceReference;
 
 			} else {
-				distance = this.VAR.STRIDE;
+				distance = this.stride;
 			}
 
 			if (event == null) {
@@ -312,13 +387,12 @@ public class Generator {
 			return;
 
 		if (this.isFlying && this.isJumping) {
-			if (this.VAR.EVENT_ON_JUMP) {
+			if (this.eventOnJump) {
 				// If climbing stairs motion will be negative
 				if (entity.motionY > 0) {
 					this.didJump = true;
-					final double speed = entity.motionX * entity.motionX + entity.motionZ * entity.motionZ;
 
-					if (speed < this.VAR.SPEED_TO_JUMP_AS_MULTIFOOT) {
+					if (this.speedSq < this.speedToJumpAsMultifootSq) {
 						// STILL JUMP
 						playMultifoot(entity, 0.4d, EventType.JUMP);
 					} else {
@@ -328,7 +402,7 @@ public class Generator {
 				}
 			}
 		} else if (!this.isFlying && this.fallDistance > 0) {
-			if (this.fallDistance > this.VAR.LAND_HARD_DISTANCE_MIN) {
+			if (this.fallDistance > this.landHardDistanceMin) {
 				playMultifoot(entity, 0d, EventType.LAND);
 			} else if (!this.stepThisFrame && !this.isSneaking) {
 				playSinglefoot(entity, 0d, speedDisambiguator(entity, EventType.CLIMB, EventType.CLIMB_RUN),
@@ -340,12 +414,11 @@ public class Generator {
 
 	protected EventType speedDisambiguator(@Nonnull final EntityLivingBase entity, @Nonnull final EventType walk,
 			@Nonnull final EventType run) {
-		final double velocity = entity.motionX * entity.motionX + entity.motionZ * entity.motionZ;
-		return velocity > this.VAR.SPEED_TO_RUN ? run : walk;
+		return this.speedSq > this.speedToRunSq ? run : walk;
 	}
 
 	protected void simulateBrushes(@Nonnull final EntityLivingBase entity) {
-		final long current = TimeUtils.currentTimeMillis();
+		final long current = this.soundPlayer.currentTimeMillis();
 		if (current >= this.brushesTime) {
 			this.brushesTime = current + BRUSH_INTERVAL;
 			if (proceedWithStep(entity) && (entity.motionX != 0d || entity.motionZ != 0d)) {
@@ -396,7 +469,7 @@ public class Generator {
 	}
 
 	protected boolean shouldProducePrint(@Nonnull final EntityLivingBase entity) {
-		return ModOptions.effects.enableFootprints && this.VAR.HAS_FOOTPRINT
+		return ModOptions.effects.enableFootprints && this.hasFootprint
 				&& (entity.onGround || !(this.isJumping || entity.isAirBorne))
 				&& !entity.isInvisibleToPlayer(EnvironState.getPlayer());
 	}
@@ -413,7 +486,7 @@ public class Generator {
 
 		final float rotDegrees = MathStuff.wrapDegrees(entity.rotationYaw);
 		final double rot = MathStuff.toRadians(rotDegrees);
-		final float feetDistanceToCenter = isRightFoot ? -this.VAR.DISTANCE_TO_CENTER : this.VAR.DISTANCE_TO_CENTER;
+		final float feetDistanceToCenter = isRightFoot ? this.rightFootOffset : this.leftFootOffset;
 
 		final double xx = entity.posX + MathStuff.cos(rot) * feetDistanceToCenter;
 		final double zz = entity.posZ + MathStuff.sin(rot) * feetDistanceToCenter;
@@ -421,8 +494,8 @@ public class Generator {
 		final FootStrikeLocation loc = new FootStrikeLocation(entity, xx, minY - PROBE_DEPTH - verticalOffsetAsMinus,
 				zz);
 
-		final AcousticResolver resolver = new AcousticResolver(ClientChunkCache.instance(), this.blockMap, loc,
-				this.VAR.DISTANCE_TO_CENTER);
+		final AcousticResolver resolver = new AcousticResolver(this.world, this.blockMap, loc,
+				this.distanceToCenter, this.acousticCache);
 
 		final Association result = addSoundOverlay(entity, resolver.findAssociationForEvent());
 
@@ -431,11 +504,11 @@ public class Generator {
 		if (result != null && result.hasStrikeLocation() && shouldProducePrint(entity)) {
 			final Vec3d printPos = result.getStrikeLocation().footprintPosition();
 			if (printPos != null) {
-				FootprintStyle style = this.VAR.FOOTPRINT_STYLE;
+				FootprintStyle style = this.footprintStyle;
 				if (entity instanceof EntityPlayer) {
 					style = FootprintStyle.getStyle(ModOptions.effects.footprintStyle);
 				}
-				final Footprint print = Footprint.produce(style, entity, printPos, rotDegrees, this.VAR.FOOTPRINT_SCALE,
+				final Footprint print = Footprint.produce(style, entity, printPos, rotDegrees, this.footprintScale,
 						isRightFoot);
 				this.footprints.add(print);
 			}
@@ -474,21 +547,31 @@ public class Generator {
 	@Nullable
 	protected Association findAssociationMessyFoliage(@Nonnull final EntityLivingBase entity,
 			@Nonnull final BlockPos pos) {
-		Association result = null;
+		final long key = pos.toLong();
+		AcousticCache.Entry entry = this.acousticCache.getBrush(key);
+		if (entry == null) {
+			entry = resolveMessyFoliage(pos);
+			this.acousticCache.putBrush(key, entry);
+		}
+		return entry.acoustics != null ? new Association(entity, entry.acoustics) : null;
+	}
+
+	@Nonnull
+	protected AcousticCache.Entry resolveMessyFoliage(@Nonnull final BlockPos pos) {
 		final BlockPos up = pos.up();
-		final IBlockState above = ClientChunkCache.instance().getBlockState(up);
+		final IBlockState above = this.world.getBlockState(up);
 
 		if (above != Blocks.AIR.getDefaultState()) {
 			IAcoustic[] acoustics = this.blockMap.getBlockAcoustics(above, Substrate.MESSY);
 			if (acoustics == AcousticRegistry.MESSY_GROUND) {
 				acoustics = this.blockMap.getBlockAcoustics(above, Substrate.FOLIAGE);
 				if (acoustics != null && acoustics != AcousticRegistry.NOT_EMITTER) {
-					result = new Association(entity, acoustics);
+					return new AcousticCache.Entry(above, acoustics, 1);
 				}
 
 			}
 		}
-		return result;
+		return AcousticCache.Entry.NONE;
 	}
 
 	/**
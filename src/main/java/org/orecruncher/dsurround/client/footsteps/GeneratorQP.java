@@ -30,6 +30,7 @@ import org.orecruncher.dsurround.registry.acoustics.EventType;
 import org.orecruncher.dsurround.registry.footstep.Variator;
 
 import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -38,17 +39,26 @@ public class GeneratorQP extends Generator {
 
 	private static final int USE_FUNCTION = 2;
 
+	private final float quadrupedMultiplier;
+
 	private int hoof = 0;
 	private float nextWalkDistanceMultiplier = 0.05f;
 
 	public GeneratorQP(@Nonnull final Variator var) {
 		super(var);
+		this.quadrupedMultiplier = var.QUADRUPED_MULTIPLIER;
+	}
+
+	public GeneratorQP(@Nonnull final Variator var, @Nonnull final SoundPlayer player,
+			@Nonnull final IBlockAccess world) {
+		super(var, player, world);
+		this.quadrupedMultiplier = var.QUADRUPED_MULTIPLIER;
 	}
 
 	@Override
 	protected void stepped(@Nonnull final EntityLivingBase ply, @Nonnull final EventType event) {
 		if (this.hoof == 0 || this.hoof == 2) {
-			this.nextWalkDistanceMultiplier = RANDOM.nextFloat();
+			this.nextWalkDistanceMultiplier = this.soundPlayer.getRNG().nextFloat();
 		}
 
 		if (this.hoof >= 3) {
@@ -68,7 +78,7 @@ public class GeneratorQP extends Generator {
 	}
 
 	protected float walkFunction2(final float distance) {
-		final float overallMultiplier = this.VAR.QUADRUPED_MULTIPLIER;
+		final float overallMultiplier = this.quadrupedMultiplier;
 		final float ndm = 0.2F;
 		float pond = this.nextWalkDistanceMultiplier;
 		pond *= pond;
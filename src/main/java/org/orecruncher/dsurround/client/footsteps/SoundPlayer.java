@@ -52,8 +52,12 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class SoundPlayer implements ISoundPlayer {
 
-	protected final Random random = XorShiftRandom.current();
+	// Plays of the same sound closer than this are considered the same voice
+	private static final double MIX_DISTANCE_SQ = 0.5D * 0.5D;
+
+	protected final Random random;
 	protected final ObjectArray<PendingSound> pending = new ObjectArray<>();
+	protected final ObjectArray<Voice> mix = new ObjectArray<>();
 	protected final float scale;
 
 	public SoundPlayer() {
@@ -61,7 +65,12 @@ public class SoundPlayer implements ISoundPlayer {
 	}
 
 	public SoundPlayer(final float volumeScale) {
+		this(volumeScale, XorShiftRandom.current());
+	}
+
+	public SoundPlayer(final float volumeScale, @Nonnull final Random random) {
 		this.scale = volumeScale;
+		this.random = random;
 	}
 
 	public void playAcoustic(@Nonnull final Association assoc, @Nonnull final EventType event) {
@@ -90,14 +99,34 @@ public class SoundPlayer implements ISoundPlayer {
 			final float pitch, @Nullable final IOptions options) {
 		// If it is a delayed sound queue it up. Otherwise play it.
 		if (options != null && options.isDelayedSound()) {
-			final long delay = TimeUtils.currentTimeMillis()
+			final long delay = currentTimeMillis()
 					+ randAB(this.random, options.getDelayMin(), options.getDelayMax());
 			this.pending.add(new PendingSound(location, sound, volume, pitch, delay, options.getDelayMax()));
 		} else {
-			actuallyPlaySound(location, sound, volume, pitch);
+			mixSound(location, sound, volume, pitch);
 		}
 	}
 
+	/**
+	 * Adds the sound to the current mix. A strike can fan out into several plays
+	 * of the same sound at more or less the same spot (multi-foot landings,
+	 * accents that share a sound with the primary acoustic, etc.). Rather than
+	 * burning a sound channel on each they are folded into a single voice with
+	 * the combined gain. The mix is sent to the sound engine when think() is
+	 * called.
+	 */
+	protected void mixSound(@Nonnull final Vec3d location, @Nonnull final SoundEvent sound, final float volume,
+			final float pitch) {
+		for (int i = 0; i < this.mix.size(); i++) {
+			final Voice v = this.mix.get(i);
+			if (v.sound == sound && v.location.squareDistanceTo(location) < MIX_DISTANCE_SQ) {
+				v.merge(volume, pitch);
+				return;
+			}
+		}
+		this.mix.add(new Voice(location, sound, volume, pitch));
+	}
+
 	protected void actuallyPlaySound(@Nonnull final Vec3d entity, @Nonnull final SoundEvent sound, final float volume,
 			final float pitch) {
 		try {
@@ -114,8 +143,16 @@ public class SoundPlayer implements ISoundPlayer {
 		return this.random;
 	}
 
+	/**
+	 * Clock used for scheduling delayed sounds. Generators driving this player use
+	 * the same clock so that the entire simulation is on a single time base.
+	 */
+	public long currentTimeMillis() {
+		return TimeUtils.currentTimeMillis();
+	}
+
 	public void think() {
-		final long time = TimeUtils.currentTimeMillis();
+		final long time = currentTimeMillis();
 
 		this.pending.removeIf(sound -> {
 			if (sound.getTimeToPlay() <= time) {
@@ -125,10 +162,45 @@ public class SoundPlayer implements ISoundPlayer {
 			}
 			return false;
 		});
+
+		for (int i = 0; i < this.mix.size(); i++) {
+			final Voice v = this.mix.get(i);
+			actuallyPlaySound(v.location, v.sound, v.volume, v.pitch);
+		}
+		this.mix.clear();
 	}
 
 	private long randAB(@Nonnull final Random rng, final long a, final long b) {
 		return a >= b ? a : a + rng.nextInt((int) (b + 1));
 	}
 
+	/**
+	 * A sound in the current mix. Gains of merged plays are summed, but never
+	 * made quieter than the loudest contributor and never pushed past full
+	 * volume unless a contributor was already there. The pitch of the loudest
+	 * contributor wins.
+	 */
+	protected static final class Voice {
+
+		public final Vec3d location;
+		public final SoundEvent sound;
+		public float volume;
+		public float pitch;
+
+		public Voice(@Nonnull final Vec3d location, @Nonnull final SoundEvent sound, final float volume,
+				final float pitch) {
+			this.location = location;
+			this.sound = sound;
+			this.volume = volume;
+			this.pitch = pitch;
+		}
+
+		public void merge(final float volume, final float pitch) {
+			if (volume > this.volume)
+				this.pitch = pitch;
+			final float loudest = Math.max(this.volume, volume);
+			this.volume = Math.max(loudest, Math.min(1F, this.volume + volume));
+		}
+	}
+
 }
@@ -0,0 +1,222 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.lib.collections.ObjectArray;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * A recorded run of an entity moving through the world. It holds the motion
+ * state of the entity for each tick along with the block states that were seen
+ * around its feet so the footstep engine can be replayed without a live world.
+ * Block states are stored as Minecraft state IDs keyed by packed block
+ * position.
+ */
+@SideOnly(Side.CLIENT)
+public final class FootstepTrace {
+
+	private static final int MAGIC = 0x44534654; // DSFT
+	private static final int VERSION = 1;
+
+	public static final String EXTENSION = ".dsft";
+
+	public static final int FLAG_ON_GROUND = 0x01;
+	public static final int FLAG_SPRINTING = 0x02;
+	public static final int FLAG_SNEAKING = 0x04;
+	public static final int FLAG_IN_WATER = 0x08;
+	public static final int FLAG_ON_LADDER = 0x10;
+	public static final int FLAG_JUMPING = 0x20;
+	public static final int FLAG_UNDER_WATER = 0x40;
+	public static final int FLAG_AIRBORNE = 0x80;
+
+	/**
+	 * Motion state of the entity for a single tick along with any block changes
+	 * that were observed during that tick.
+	 */
+	public static final class Frame {
+		public double posX;
+		public double posY;
+		public double posZ;
+		public double motionX;
+		public double motionY;
+		public double motionZ;
+		public float rotationYaw;
+		public float fallDistance;
+		public int flags;
+		public long[] changedPos = EMPTY_POS;
+		public int[] changedState = EMPTY_STATE;
+
+		public boolean hasFlag(final int flag) {
+			return (this.flags & flag) != 0;
+		}
+
+		void write(@Nonnull final DataOutputStream out) throws IOException {
+			out.writeDouble(this.posX);
+			out.writeDouble(this.posY);
+			out.writeDouble(this.posZ);
+			out.writeFloat((float) this.motionX);
+			out.writeFloat((float) this.motionY);
+			out.writeFloat((float) this.motionZ);
+			out.writeFloat(this.rotationYaw);
+			out.writeFloat(this.fallDistance);
+			out.writeByte(this.flags);
+			out.writeShort(this.changedPos.length);
+			for (int i = 0; i < this.changedPos.length; i++) {
+				out.writeLong(this.changedPos[i]);
+				out.writeInt(this.changedState[i]);
+			}
+		}
+
+		void read(@Nonnull final DataInputStream in) throws IOException {
+			this.posX = in.readDouble();
+			this.posY = in.readDouble();
+			this.posZ = in.readDouble();
+			this.motionX = in.readFloat();
+			this.motionY = in.readFloat();
+			this.motionZ = in.readFloat();
+			this.rotationYaw = in.readFloat();
+			this.fallDistance = in.readFloat();
+			this.flags = in.readUnsignedByte();
+			final int changes = in.readUnsignedShort();
+			if (changes > 0) {
+				this.changedPos = new long[changes];
+				this.changedState = new int[changes];
+				for (int i = 0; i < changes; i++) {
+					this.changedPos[i] = in.readLong();
+					this.changedState[i] = in.readInt();
+				}
+			}
+		}
+	}
+
+	private static final long[] EMPTY_POS = new long[0];
+	private static final int[] EMPTY_STATE = new int[0];
+
+	private final String variator;
+	private final long seed;
+	private final float width;
+	private final float height;
+	private final Long2IntOpenHashMap blocks = new Long2IntOpenHashMap();
+	private final ObjectArray<Frame> frames = new ObjectArray<>(1024);
+
+	public FootstepTrace(@Nonnull final String variator, final long seed, final float width, final float height) {
+		this.variator = variator;
+		this.seed = seed;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Nonnull
+	public String getVariator() {
+		return this.variator;
+	}
+
+	public long getSeed() {
+		return this.seed;
+	}
+
+	public float getWidth() {
+		return this.width;
+	}
+
+	public float getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Block states as they were first seen during recording. Changes made after
+	 * that point are carried by the individual frames.
+	 */
+	@Nonnull
+	public Long2IntOpenHashMap getBlocks() {
+		return this.blocks;
+	}
+
+	@Nonnull
+	public ObjectArray<Frame> getFrames() {
+		return this.frames;
+	}
+
+	public void save(@Nonnull final File file) throws IOException {
+		try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeUTF(this.variator);
+			out.writeLong(this.seed);
+			out.writeFloat(this.width);
+			out.writeFloat(this.height);
+			out.writeInt(this.blocks.size());
+			for (final Long2IntMap.Entry e : this.blocks.long2IntEntrySet()) {
+				out.writeLong(e.getLongKey());
+				out.writeInt(e.getIntValue());
+			}
+			out.writeInt(this.frames.size());
+			for (final Frame f : this.frames)
+				f.write(out);
+		}
+	}
+
+	@Nonnull
+	public static FootstepTrace load(@Nonnull final File file) throws IOException {
+		try (final DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a footstep trace: " + file.getName());
+			final int version = in.readUnsignedShort();
+			if (version != VERSION)
+				throw new IOException("Unsupported footstep trace version " + version);
+			final FootstepTrace trace = new FootstepTrace(in.readUTF(), in.readLong(), in.readFloat(),
+					in.readFloat());
+			final int blockCount = in.readInt();
+			for (int i = 0; i < blockCount; i++)
+				trace.blocks.put(in.readLong(), in.readInt());
+			final int frameCount = in.readInt();
+			for (int i = 0; i < frameCount; i++) {
+				final Frame f = new Frame();
+				f.read(in);
+				trace.frames.add(f);
+			}
+			return trace;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps.trace;
+
+import java.util.Collections;
+
+import javax.annotation.Nonnull;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumHandSide;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Stand-in entity that is driven by the frames of a footstep trace. It is never
+ * added to a world; the world reference is only needed to satisfy the entity
+ * constructor. All of the state the footstep generator queries comes from the
+ * trace rather than from collision checks against the world.
+ */
+@SideOnly(Side.CLIENT)
+public class TraceEntity extends EntityLivingBase {
+
+	private FootstepTrace.Frame frame = new FootstepTrace.Frame();
+
+	public TraceEntity(@Nonnull final World world, @Nonnull final FootstepTrace trace) {
+		super(world);
+		this.width = trace.getWidth();
+		this.height = trace.getHeight();
+	}
+
+	/**
+	 * Moves the entity to the state captured in the frame. The prior position is
+	 * taken from the current position so distance traveled matches the original
+	 * run.
+	 */
+	public void apply(@Nonnull final FootstepTrace.Frame f, final boolean first) {
+		this.frame = f;
+		if (first) {
+			this.prevPosX = f.posX;
+			this.prevPosY = f.posY;
+			this.prevPosZ = f.posZ;
+		} else {
+			this.prevPosX = this.posX;
+			this.prevPosY = this.posY;
+			this.prevPosZ = this.posZ;
+		}
+		this.posX = f.posX;
+		this.posY = f.posY;
+		this.posZ = f.posZ;
+		this.motionX = f.motionX;
+		this.motionY = f.motionY;
+		this.motionZ = f.motionZ;
+		this.rotationYaw = f.rotationYaw;
+		this.fallDistance = f.fallDistance;
+		this.onGround = f.hasFlag(FootstepTrace.FLAG_ON_GROUND);
+		this.isAirBorne = f.hasFlag(FootstepTrace.FLAG_AIRBORNE);
+		setJumping(f.hasFlag(FootstepTrace.FLAG_JUMPING));
+		final double halfWidth = this.width / 2.0D;
+		setEntityBoundingBox(new AxisAlignedBB(this.posX - halfWidth, this.posY, this.posZ - halfWidth,
+				this.posX + halfWidth, this.posY + this.height, this.posZ + halfWidth));
+	}
+
+	@Override
+	public boolean isSneaking() {
+		return this.frame.hasFlag(FootstepTrace.FLAG_SNEAKING);
+	}
+
+	@Override
+	public boolean isSprinting() {
+		return this.frame.hasFlag(FootstepTrace.FLAG_SPRINTING);
+	}
+
+	@Override
+	public boolean isInWater() {
+		return this.frame.hasFlag(FootstepTrace.FLAG_IN_WATER);
+	}
+
+	@Override
+	public boolean isOnLadder() {
+		return this.frame.hasFlag(FootstepTrace.FLAG_ON_LADDER);
+	}
+
+	@Override
+	public boolean isInsideOfMaterial(@Nonnull final Material material) {
+		return material == Material.WATER && this.frame.hasFlag(FootstepTrace.FLAG_UNDER_WATER);
+	}
+
+	@Override
+	public boolean isInvisibleToPlayer(@Nonnull final EntityPlayer player) {
+		// Keeps replays from generating footprints in the live world
+		return true;
+	}
+
+	@Override
+	@Nonnull
+	public Iterable<ItemStack> getArmorInventoryList() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	@Nonnull
+	public ItemStack getItemStackFromSlot(@Nonnull final EntityEquipmentSlot slot) {
+		return ItemStack.EMPTY;
+	}
+
+	@Override
+	public void setItemStackToSlot(@Nonnull final EntityEquipmentSlot slot, @Nonnull final ItemStack stack) {
+	}
+
+	@Override
+	@Nonnull
+	public EnumHandSide getPrimaryHand() {
+		return EnumHandSide.RIGHT;
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps.trace;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.registry.RegistryManager;
+import org.orecruncher.lib.compat.EntityLivingBaseUtil;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Records the motion of the player along with the blocks around their feet
+ * into a footstep trace. Only one recording can be active at a time.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class TraceRecorder {
+
+	// Horizontal and vertical reach of the block capture around the feet
+	private static final int CAPTURE_RANGE = 2;
+	// About 20 minutes of game time
+	private static final int MAX_FRAMES = 20 * 60 * 20;
+
+	private static TraceRecorder recording;
+
+	private final File file;
+	private final FootstepTrace trace;
+	private final Long2IntOpenHashMap current = new Long2IntOpenHashMap();
+	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+	private final LongArrayList changedPos = new LongArrayList();
+	private final IntArrayList changedState = new IntArrayList();
+
+	private TraceRecorder(@Nonnull final File file, @Nonnull final EntityPlayer player) {
+		this.file = file;
+		String variator = RegistryManager.FOOTSTEPS
+				.getVariatorName(RegistryManager.FOOTSTEPS.getVariator(player));
+		if (variator == null)
+			variator = "default";
+		this.trace = new FootstepTrace(variator, player.world.getTotalWorldTime(), player.width, player.height);
+	}
+
+	public static boolean isRecording() {
+		return recording != null;
+	}
+
+	public static void start(@Nonnull final File file) {
+		final EntityPlayer player = Minecraft.getMinecraft().player;
+		if (player != null)
+			recording = new TraceRecorder(file, player);
+	}
+
+	/**
+	 * Stops the active recording and writes it to disk.
+	 *
+	 * @return The trace that was recorded, or null if nothing was recording
+	 */
+	@Nullable
+	public static FootstepTrace stop() throws IOException {
+		final TraceRecorder r = recording;
+		recording = null;
+		if (r == null)
+			return null;
+		final File dir = r.file.getParentFile();
+		if (dir != null)
+			dir.mkdirs();
+		r.trace.save(r.file);
+		return r.trace;
+	}
+
+	private void capture(@Nonnull final EntityPlayer player) {
+		final World world = player.world;
+		final int baseX = MathHelper.floor(player.posX);
+		final int baseY = MathHelper.floor(player.posY);
+		final int baseZ = MathHelper.floor(player.posZ);
+
+		this.changedPos.clear();
+		this.changedState.clear();
+
+		for (int x = -CAPTURE_RANGE; x <= CAPTURE_RANGE; x++)
+			for (int y = -CAPTURE_RANGE; y <= CAPTURE_RANGE; y++)
+				for (int z = -CAPTURE_RANGE; z <= CAPTURE_RANGE; z++) {
+					this.mutable.setPos(baseX + x, baseY + y, baseZ + z);
+					final long key = this.mutable.toLong();
+					final int id = Block.getStateId(world.getBlockState(this.mutable));
+					if (!this.current.containsKey(key)) {
+						this.trace.getBlocks().put(key, id);
+						this.current.put(key, id);
+					} else if (this.current.get(key) != id) {
+						this.current.put(key, id);
+						this.changedPos.add(key);
+						this.changedState.add(id);
+					}
+				}
+
+		final FootstepTrace.Frame frame = new FootstepTrace.Frame();
+		frame.posX = player.posX;
+		frame.posY = player.posY;
+		frame.posZ = player.posZ;
+		frame.motionX = player.motionX;
+		frame.motionY = player.motionY;
+		frame.motionZ = player.motionZ;
+		frame.rotationYaw = player.rotationYaw;
+		frame.fallDistance = player.fallDistance;
+
+		int flags = 0;
+		if (player.onGround)
+			flags |= FootstepTrace.FLAG_ON_GROUND;
+		if (player.isSprinting())
+			flags |= FootstepTrace.FLAG_SPRINTING;
+		if (player.isSneaking())
+			flags |= FootstepTrace.FLAG_SNEAKING;
+		if (player.isInWater())
+			flags |= FootstepTrace.FLAG_IN_WATER;
+		if (player.isOnLadder())
+			flags |= FootstepTrace.FLAG_ON_LADDER;
+		if (EntityLivingBaseUtil.isJumping(player))
+			flags |= FootstepTrace.FLAG_JUMPING;
+		if (player.isInsideOfMaterial(Material.WATER))
+			flags |= FootstepTrace.FLAG_UNDER_WATER;
+		if (player.isAirBorne)
+			flags |= FootstepTrace.FLAG_AIRBORNE;
+		frame.flags = flags;
+
+		if (!this.changedPos.isEmpty()) {
+			frame.changedPos = this.changedPos.toLongArray();
+			frame.changedState = this.changedState.toIntArray();
+		}
+
+		this.trace.getFrames().add(frame);
+	}
+
+	@SubscribeEvent
+	public static void clientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (recording == null || event.phase != TickEvent.Phase.END)
+			return;
+
+		final Minecraft mc = Minecraft.getMinecraft();
+		if (mc.isGamePaused())
+			return;
+
+		final EntityPlayer player = mc.player;
+		if (player == null || player.world == null) {
+			// Disconnected or changed worlds - nothing sensible to record
+			recording = null;
+			return;
+		}
+
+		recording.capture(player);
+		if (recording.trace.getFrames().size() >= MAX_FRAMES) {
+			try {
+				stop();
+			} catch (@Nonnull final IOException ex) {
+				ModBase.log().error("Unable to save footstep trace", ex);
+			}
+		}
+	}
+}
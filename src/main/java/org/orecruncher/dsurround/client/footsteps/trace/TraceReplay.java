@@ -0,0 +1,166 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps.trace;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.footsteps.Generator;
+import org.orecruncher.dsurround.registry.RegistryManager;
+import org.orecruncher.dsurround.registry.footstep.Variator;
+import org.orecruncher.lib.collections.ObjectArray;
+
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Replays a footstep trace through a fresh footstep generator. The generator
+ * is bound to the blocks captured in the trace, a clock driven by the frame
+ * number, and a random source seeded from the trace so each run of the same
+ * trace produces the same sound sequence. The first run captures the sequence;
+ * the remaining runs are timed.
+ */
+@SideOnly(Side.CLIENT)
+public final class TraceReplay {
+
+	private final FootstepTrace trace;
+	private final World world;
+
+	public TraceReplay(@Nonnull final FootstepTrace trace, @Nonnull final World world) {
+		this.trace = trace;
+		this.world = world;
+	}
+
+	public static final class Report {
+		public int frames;
+		public int iterations;
+		public int steps;
+		public int acoustics;
+		public int sounds;
+		public long nanos;
+		public long allocatedBytes = -1;
+		public long checksum;
+		public String sequence;
+
+		public double stepsPerSecond() {
+			return this.nanos > 0 ? (double) this.steps * this.iterations * 1E9D / this.nanos : 0;
+		}
+
+		public double acousticsPerSecond() {
+			return this.nanos > 0 ? (double) this.acoustics * this.iterations * 1E9D / this.nanos : 0;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			builder.append(String.format(Locale.ROOT, "frames: %d, iterations: %d, time: %.3fms%n", this.frames,
+					this.iterations, this.nanos / 1E6D));
+			builder.append(String.format(Locale.ROOT, "steps: %d (%.0f/sec)%n", this.steps, stepsPerSecond()));
+			builder.append(
+					String.format(Locale.ROOT, "acoustics: %d (%.0f/sec)%n", this.acoustics, acousticsPerSecond()));
+			builder.append(String.format(Locale.ROOT, "sounds: %d, checksum: %08x%n", this.sounds, this.checksum));
+			if (this.allocatedBytes >= 0)
+				builder.append(String.format(Locale.ROOT, "allocated: %d bytes/iteration%n",
+						this.allocatedBytes / Math.max(this.iterations, 1)));
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * Runs the trace the specified number of timed iterations. An additional run
+	 * is made up front to capture the sound sequence and warm up the code paths.
+	 */
+	@Nonnull
+	public Report run(final int iterations) {
+		final Report report = new Report();
+		report.frames = this.trace.getFrames().size();
+		report.iterations = iterations;
+
+		final Variator var = RegistryManager.FOOTSTEPS.getVariator(this.trace.getVariator());
+		final TraceSoundPlayer reference = new TraceSoundPlayer(var.VOLUME_SCALE, this.trace.getSeed(), true);
+		report.steps = replay(var, reference);
+		report.acoustics = reference.getAcousticsPlayed();
+		report.sounds = reference.getSoundsPlayed();
+		report.sequence = reference.getLog();
+
+		final CRC32 crc = new CRC32();
+		crc.update(report.sequence.getBytes(StandardCharsets.UTF_8));
+		report.checksum = crc.getValue();
+
+		final long allocStart = allocatedBytes();
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			replay(var, new TraceSoundPlayer(var.VOLUME_SCALE, this.trace.getSeed(), false));
+		report.nanos = System.nanoTime() - start;
+		final long allocEnd = allocatedBytes();
+		if (allocStart >= 0 && allocEnd >= 0)
+			report.allocatedBytes = allocEnd - allocStart;
+
+		return report;
+	}
+
+	/**
+	 * Runs the trace once through a new generator.
+	 *
+	 * @return The number of steps the generator took
+	 */
+	private int replay(@Nonnull final Variator var, @Nonnull final TraceSoundPlayer player) {
+		final TraceWorld traceWorld = new TraceWorld(this.trace);
+		final TraceEntity entity = new TraceEntity(this.world, this.trace);
+		final Generator generator = RegistryManager.FOOTSTEPS.createGenerator(var, player, traceWorld);
+
+		final ObjectArray<FootstepTrace.Frame> frames = this.trace.getFrames();
+		for (int i = 0; i < frames.size(); i++) {
+			final FootstepTrace.Frame f = frames.get(i);
+			if (f.changedPos.length > 0) {
+				// Same as a block update in the live world, but only for the
+				// generator doing the replay
+				traceWorld.apply(f);
+				generator.clearAcousticCache();
+			}
+			player.setTick(i);
+			entity.apply(f, i == 0);
+			generator.generateFootsteps(entity);
+		}
+
+		return generator.getPedometer();
+	}
+
+	private static long allocatedBytes() {
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+			if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled())
+				return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
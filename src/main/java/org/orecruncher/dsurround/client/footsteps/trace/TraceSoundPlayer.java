@@ -0,0 +1,103 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps.trace;
+
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.client.footsteps.SoundPlayer;
+import org.orecruncher.dsurround.registry.acoustics.EventType;
+import org.orecruncher.dsurround.registry.acoustics.IAcoustic;
+import org.orecruncher.dsurround.registry.acoustics.IOptions;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Sound player used during trace replay. Nothing is sent to the sound engine;
+ * the sounds are counted and optionally logged so that the output of one run
+ * can be compared with another. Time is driven by the replay rather than the
+ * system clock and the random source is seeded from the trace.
+ */
+@SideOnly(Side.CLIENT)
+public class TraceSoundPlayer extends SoundPlayer {
+
+	private final StringBuilder log;
+	private long time;
+	private int tick;
+	private int acousticsPlayed;
+	private int soundsPlayed;
+
+	public TraceSoundPlayer(final float volumeScale, final long seed, final boolean logSounds) {
+		super(volumeScale, new XorShiftRandom(seed));
+		this.log = logSounds ? new StringBuilder() : null;
+	}
+
+	public void setTick(final int tick) {
+		this.tick = tick;
+		this.time = tick * 50L;
+	}
+
+	@Override
+	public long currentTimeMillis() {
+		return this.time;
+	}
+
+	@Override
+	public void playAcoustic(@Nonnull final Vec3d location, @Nonnull final IAcoustic[] acoustics,
+			@Nonnull final EventType event, @Nullable final IOptions inputOptions) {
+		if (acoustics != null)
+			this.acousticsPlayed += acoustics.length;
+		super.playAcoustic(location, acoustics, event, inputOptions);
+	}
+
+	@Override
+	protected void actuallyPlaySound(@Nonnull final Vec3d pos, @Nonnull final SoundEvent sound, final float volume,
+			final float pitch) {
+		this.soundsPlayed++;
+		if (this.log != null) {
+			this.log.append(String.format(Locale.ROOT, "%6d %-40s v=%.4f p=%.4f @ %.3f,%.3f,%.3f%n", this.tick,
+					sound.getSoundName().toString(), volume * this.scale, pitch, pos.x, pos.y, pos.z));
+		}
+	}
+
+	public int getAcousticsPlayed() {
+		return this.acousticsPlayed;
+	}
+
+	public int getSoundsPlayed() {
+		return this.soundsPlayed;
+	}
+
+	@Nullable
+	public String getLog() {
+		return this.log != null ? this.log.toString() : null;
+	}
+}
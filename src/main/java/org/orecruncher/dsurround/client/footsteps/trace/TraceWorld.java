@@ -0,0 +1,113 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.footsteps.trace;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Block access backed by the block states captured in a footstep trace. Any
+ * position that was not captured reads as air. There are no tile entities and
+ * lighting is fixed so lookups are repeatable from run to run.
+ */
+@SideOnly(Side.CLIENT)
+public class TraceWorld implements IBlockAccess {
+
+	private static final int AIR_ID = Block.getStateId(Blocks.AIR.getDefaultState());
+
+	private final Long2IntOpenHashMap states;
+
+	public TraceWorld(@Nonnull final FootstepTrace trace) {
+		this.states = new Long2IntOpenHashMap(trace.getBlocks());
+		this.states.defaultReturnValue(AIR_ID);
+	}
+
+	/**
+	 * Applies the block changes that were recorded for a frame.
+	 */
+	public void apply(@Nonnull final FootstepTrace.Frame frame) {
+		for (int i = 0; i < frame.changedPos.length; i++)
+			this.states.put(frame.changedPos[i], frame.changedState[i]);
+	}
+
+	@Override
+	@Nullable
+	public TileEntity getTileEntity(@Nonnull final BlockPos pos) {
+		return null;
+	}
+
+	@Override
+	public int getCombinedLight(@Nonnull final BlockPos pos, final int lightValue) {
+		return 15 << 20 | 15 << 4;
+	}
+
+	@Override
+	@Nonnull
+	public IBlockState getBlockState(@Nonnull final BlockPos pos) {
+		return Block.getStateById(this.states.get(pos.toLong()));
+	}
+
+	@Override
+	public boolean isAirBlock(@Nonnull final BlockPos pos) {
+		return this.states.get(pos.toLong()) == AIR_ID;
+	}
+
+	@Override
+	@Nonnull
+	public Biome getBiome(@Nonnull final BlockPos pos) {
+		return Biomes.PLAINS;
+	}
+
+	@Override
+	public int getStrongPower(@Nonnull final BlockPos pos, @Nonnull final EnumFacing direction) {
+		return 0;
+	}
+
+	@Override
+	@Nonnull
+	public WorldType getWorldType() {
+		return WorldType.DEFAULT;
+	}
+
+	@Override
+	public boolean isSideSolid(@Nonnull final BlockPos pos, @Nonnull final EnumFacing side,
+			final boolean _default) {
+		return getBlockState(pos).isSideSolid(this, pos, side);
+	}
+}
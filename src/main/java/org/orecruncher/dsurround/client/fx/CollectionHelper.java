@@ -93,8 +93,12 @@ public class CollectionHelper {
 			builder.append("Expired");
 		else if (pc.shouldDie())
 			builder.append("Should Die");
-		else
+		else {
 			builder.append(pc.size());
+			final int bytes = pc.getBytesRewritten();
+			if (bytes >= 0)
+				builder.append(" (").append(bytes).append(" bytes/frame)");
+		}
 		return builder.toString();
 	}
 }
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Per tick cache of combined light values. Rain splashes, ripples and the like
+ * tend to pile up over the same few hundred blocks, and each of them would
+ * otherwise go back to the world for the light of its block every tick. The
+ * cache is keyed by packed block position and is thrown away when the tick
+ * changes so it never serves light older than a tick.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class LightSampler {
+
+	private static final int NO_VALUE = -1;
+
+	private static final Long2IntOpenHashMap cache = new Long2IntOpenHashMap(1024);
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+	private static int tick = Integer.MIN_VALUE;
+
+	private static int hits;
+	private static int misses;
+	private static int lastHits;
+	private static int lastMisses;
+
+	static {
+		cache.defaultReturnValue(NO_VALUE);
+	}
+
+	private LightSampler() {
+
+	}
+
+	/**
+	 * Obtains the combined sky and block light for the block position.
+	 */
+	public static int getCombinedLight(@Nonnull final BlockPos pos) {
+		final int current = EnvironState.getTickCounter();
+		if (current != tick) {
+			tick = current;
+			lastHits = hits;
+			lastMisses = misses;
+			hits = misses = 0;
+			cache.clear();
+		}
+
+		final long key = pos.toLong();
+		int light = cache.get(key);
+		if (light == NO_VALUE) {
+			light = ClientChunkCache.instance().getCombinedLight(pos, 0);
+			cache.put(key, light);
+			misses++;
+		} else {
+			hits++;
+		}
+		return light;
+	}
+
+	/**
+	 * Obtains the combined sky and block light for the block that contains the
+	 * point.
+	 */
+	public static int getCombinedLight(final double x, final double y, final double z) {
+		return getCombinedLight(mutable.setPos(x, y, z));
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			cache.clear();
+			tick = Integer.MIN_VALUE;
+		}
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		event.output.add(TextFormatting.AQUA
+				+ String.format("Light Samples: %d hits, %d reads", lastHits, lastMisses));
+	}
+}
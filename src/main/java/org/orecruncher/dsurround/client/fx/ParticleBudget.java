@@ -0,0 +1,208 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
+import org.orecruncher.lib.math.TimerEMA;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Hands out particle spawn quotas so that the effect subsystems together stay
+ * within a frame time target. Each subsystem has a base quota per tick. When
+ * frames run long the quotas are scaled down, with the heavier effect types
+ * squeezed harder, and scaled back up once frame time recovers. Quotas only
+ * apply while scaled down; then, once half of a quota is used, only spawns
+ * near the player are allowed.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class ParticleBudget {
+
+	public static enum Subsystem {
+		//@formatter:off
+		MOTES("M", 600, 1),
+		JETS("J", 8, 2),
+		DRIPS("D", 16, 2),
+		BREATH("B", 24, 1);
+		//@formatter:on
+
+		private final String tag;
+		private final int baseQuota;
+		private final int squeeze;
+
+		private Subsystem(@Nonnull final String tag, final int baseQuota, final int squeeze) {
+			this.tag = tag;
+			this.baseQuota = baseQuota;
+			this.squeeze = squeeze;
+		}
+	}
+
+	private static final Subsystem[] SUBSYSTEMS = Subsystem.values();
+
+	private static final float MIN_SCALE = 0.1F;
+	private static final float BACKOFF = 0.9F;
+	private static final float RECOVER = 0.02F;
+
+	private static final TimerEMA frameTime = new TimerEMA("Frame Time");
+	private static final int[] quota = new int[SUBSYSTEMS.length];
+	private static final int[] used = new int[SUBSYSTEMS.length];
+	private static final int[] lastUsed = new int[SUBSYSTEMS.length];
+	private static int denied;
+	private static int lastDenied;
+	private static float scale = 1F;
+	private static long lastFrame = -1;
+
+	static {
+		for (final Subsystem s : SUBSYSTEMS)
+			quota[s.ordinal()] = s.baseQuota;
+	}
+
+	private ParticleBudget() {
+
+	}
+
+	private static boolean isEnabled() {
+		return ModOptions.effects.particleFrameTarget > 0;
+	}
+
+	/**
+	 * Asks for permission to spawn a particle for the subsystem at the specified
+	 * location. If granted the quota is charged.
+	 */
+	public static boolean trySpawn(@Nonnull final Subsystem sub, final double x, final double y, final double z) {
+		if (!isEnabled())
+			return true;
+
+		final int idx = sub.ordinal();
+
+		// At full scale frames are within target so nothing is held back. Use is
+		// still counted for the diagnostics.
+		if (scale < 1F) {
+			final int limit = quota[idx];
+			if (used[idx] >= limit || (used[idx] >= limit / 2 && isFar(x, y, z))) {
+				denied++;
+				return false;
+			}
+		}
+
+		used[idx]++;
+		return true;
+	}
+
+	public static boolean trySpawn(@Nonnull final Subsystem sub, @Nonnull final BlockPos pos) {
+		return trySpawn(sub, pos.getX() + 0.5D, pos.getY() + 0.5D, pos.getZ() + 0.5D);
+	}
+
+	public static boolean trySpawn(@Nonnull final Subsystem sub, @Nonnull final Entity entity) {
+		return trySpawn(sub, entity.posX, entity.posY, entity.posZ);
+	}
+
+	private static boolean isFar(final double x, final double y, final double z) {
+		final EntityPlayer player = EnvironState.getPlayer();
+		if (player == null)
+			return false;
+		final double near = ModOptions.effects.specialEffectRange / 2D;
+		return player.getDistanceSq(x, y, z) > near * near;
+	}
+
+	/**
+	 * Frame time that is being aimed for. If the frame rate is limited below the
+	 * target there is no point in throttling toward something that cannot be
+	 * reached.
+	 */
+	private static double targetMSecs() {
+		final double target = ModOptions.effects.particleFrameTarget;
+		final int limit = Minecraft.getMinecraft().gameSettings.limitFramerate;
+		if (limit > 0 && limit < 260)
+			return Math.max(target, 1000D / limit);
+		return target;
+	}
+
+	@SubscribeEvent
+	public static void onRenderWorldLast(@Nonnull final RenderWorldLastEvent event) {
+		final long now = System.nanoTime();
+		if (lastFrame != -1)
+			frameTime.update(now - lastFrame);
+		lastFrame = now;
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (event.phase != Phase.START)
+			return;
+
+		if (isEnabled() && lastFrame != -1) {
+			final double target = targetMSecs();
+			final double actual = frameTime.getMSecs();
+			if (actual > target)
+				scale = Math.max(MIN_SCALE, scale * BACKOFF);
+			else if (actual < target * 0.9D)
+				scale = Math.min(1F, scale + RECOVER);
+		} else {
+			scale = 1F;
+		}
+
+		for (final Subsystem s : SUBSYSTEMS) {
+			final int idx = s.ordinal();
+			lastUsed[idx] = used[idx];
+			used[idx] = 0;
+			quota[idx] = Math.max(1, (int) (s.baseQuota * Math.pow(scale, s.squeeze)));
+		}
+		lastDenied = denied;
+		denied = 0;
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		if (!isEnabled())
+			return;
+		final StringBuilder builder = new StringBuilder();
+		builder.append(TextFormatting.AQUA);
+		builder.append(String.format("Particle Budget: %d%% (%.1f/%.1fms)", (int) (scale * 100),
+				frameTime.getMSecs(), targetMSecs()));
+		for (final Subsystem s : SUBSYSTEMS)
+			builder.append(' ').append(s.tag).append(':').append(lastUsed[s.ordinal()]).append('/')
+					.append(quota[s.ordinal()]);
+		builder.append(" denied ").append(lastDenied);
+		event.output.add(builder.toString());
+	}
+}
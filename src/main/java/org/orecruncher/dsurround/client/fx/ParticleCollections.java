@@ -32,12 +32,12 @@ import org.orecruncher.dsurround.ModInfo;
 import org.orecruncher.dsurround.client.fx.particle.mote.IParticleMote;
 import org.orecruncher.dsurround.client.fx.particle.mote.MoteFireFly;
 import org.orecruncher.dsurround.client.fx.particle.mote.MoteFootprint;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteRainSplash;
+import org.orecruncher.dsurround.client.fx.particle.mote.MoteSpawnBuffer;
 import org.orecruncher.dsurround.client.fx.particle.mote.MoteWaterRipple;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteWaterSpray;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionFireFly;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionFootprint;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionRipples;
+import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionSpray;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
 import org.orecruncher.dsurround.registry.footstep.FootprintStyle;
 
@@ -64,7 +64,8 @@ public final class ParticleCollections {
 
 	private final static CollectionHelper theRipples = new CollectionHelper("Rain Ripples",
 			ParticleCollectionRipples.FACTORY, RIPPLE_TEXTURE);
-	private final static CollectionHelper theSprays = new CollectionHelper("Water Spray", SPRAY_TEXTURE);
+	private final static CollectionHelper theSprays = new CollectionHelper("Water Spray",
+			ParticleCollectionSpray.FACTORY, SPRAY_TEXTURE);
 	private final static CollectionHelper thePrints = new CollectionHelper("Footprints",
 			ParticleCollectionFootprint.FACTORY, FOOTPRINT_TEXTURE);
 	private final static CollectionHelper theFireFlies = new LightedCollectionHelper("Fireflies",
@@ -74,45 +75,50 @@ public final class ParticleCollections {
 	public static IParticleMote addWaterRipple(@Nonnull final World world, final double x, final double y,
 			final double z) {
 		IParticleMote mote = null;
-		if (theRipples.get().canFit()) {
-			mote = new MoteWaterRipple(world, x, y, z);
+		if (theRipples.get().canFit() && ParticleBudget.trySpawn(ParticleBudget.Subsystem.MOTES, x, y, z)) {
+			mote = MoteWaterRipple.create(world, x, y, z);
 			theRipples.get().addParticle(mote);
 		}
 		return mote;
 	}
 
-	@Nullable
-	public static IParticleMote addWaterSpray(@Nonnull final World world, final double x, final double y,
-			final double z, final double dX, final double dY, final double dZ) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteWaterSpray(world, x, y, z, dX, dY, dZ);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+	@Nonnull
+	private static ParticleCollectionSpray sprays() {
+		return (ParticleCollectionSpray) theSprays.get();
+	}
+
+	public static boolean addWaterSpray(@Nonnull final World world, final double x, final double y, final double z,
+			final double dX, final double dY, final double dZ) {
+		final ParticleCollectionSpray sprays = sprays();
+		return sprays.canFit() && ParticleBudget.trySpawn(ParticleBudget.Subsystem.MOTES, x, y, z)
+				&& sprays.addSpray(x, y, z, dX, dY, dZ);
+	}
+
+	/**
+	 * Adds a batch of sprays queued by the jet emitters. Returns the number that
+	 * fit.
+	 */
+	public static int addWaterSprays(@Nonnull final MoteSpawnBuffer buffer) {
+		return sprays().addSprays(buffer);
 	}
 
 	public static boolean canFitWaterSpray() {
 		return theSprays.get().canFit();
 	}
 
-	@Nullable
-	public static IParticleMote addRainSplash(@Nonnull final World world, final double x, final double y,
+	public static boolean addRainSplash(@Nonnull final World world, final double x, final double y,
 			final double z) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteRainSplash(world, x, y, z);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+		final ParticleCollectionSpray sprays = sprays();
+		return sprays.canFit() && ParticleBudget.trySpawn(ParticleBudget.Subsystem.MOTES, x, y, z)
+				&& sprays.addRainSplash(x, y, z);
 	}
 
 	@Nullable
 	public static IParticleMote addFootprint(@Nonnull final FootprintStyle style, @Nonnull final World world,
 			final Vec3d loc, final float rot, final float scale, final boolean isRight) {
 		IParticleMote mote = null;
-		if (thePrints.get().canFit()) {
-			mote = new MoteFootprint(style, world, loc.x, loc.y, loc.z, rot, scale, isRight);
+		if (thePrints.get().canFit() && ParticleBudget.trySpawn(ParticleBudget.Subsystem.MOTES, loc.x, loc.y, loc.z)) {
+			mote = MoteFootprint.create(style, world, loc.x, loc.y, loc.z, rot, scale, isRight);
 			thePrints.get().addParticle(mote);
 		}
 		return mote;
@@ -121,8 +127,8 @@ public final class ParticleCollections {
 	@Nullable
 	public static IParticleMote addFireFly(@Nonnull final World world, final double x, final double y, final double z) {
 		IParticleMote mote = null;
-		if (theFireFlies.get().canFit()) {
-			mote = new MoteFireFly(world, x, y, z);
+		if (theFireFlies.get().canFit() && ParticleBudget.trySpawn(ParticleBudget.Subsystem.MOTES, x, y, z)) {
+			mote = MoteFireFly.create(world, x, y, z);
 			theFireFlies.get().addParticle(mote);
 		}
 		return mote;
@@ -137,6 +143,11 @@ public final class ParticleCollections {
 			theSprays.clear();
 			thePrints.clear();
 			theFireFlies.clear();
+
+			// Pooled motes reference the world they were last in
+			MoteWaterRipple.pool().clear();
+			MoteFootprint.pool().clear();
+			MoteFireFly.pool().clear();
 		}
 	}
 
@@ -146,5 +157,8 @@ public final class ParticleCollections {
 		event.output.add(TextFormatting.AQUA + theRipples.toString());
 		event.output.add(TextFormatting.AQUA + theSprays.toString());
 		event.output.add(TextFormatting.AQUA + theFireFlies.toString());
+		event.output.add(TextFormatting.AQUA + MoteWaterRipple.pool().toString());
+		event.output.add(TextFormatting.AQUA + MoteFootprint.pool().toString());
+		event.output.add(TextFormatting.AQUA + MoteFireFly.pool().toString());
 	}
 }
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.culling;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.ActiveRenderInfo;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Keeps the mote ViewCuller in line with the camera. The culler is refreshed
+ * the first time it is asked for during a frame. Only what gets rendered is
+ * culled; particle systems keep simulating and emitting out of view.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class ParticleCulling {
+
+	// Field of view can be stretched by sprinting and potion effects, and effects
+	// right at the edge of the screen should not pop.
+	private static final float FOV_SCALE = 1.3F;
+	private static final float FOV_MARGIN = 10F;
+
+	private static final ViewCuller motes = new ViewCuller();
+	private static boolean stale = true;
+
+	private static int motesTested;
+	private static int motesCulled;
+
+	private ParticleCulling() {
+
+	}
+
+	/**
+	 * Culler for motes rendered during the current frame.
+	 */
+	@Nonnull
+	public static ViewCuller motes(final float partialTicks) {
+		if (stale) {
+			setView(motes, partialTicks);
+			stale = false;
+		}
+		return motes;
+	}
+
+	private static void setView(@Nonnull final ViewCuller culler, final float partialTicks) {
+		final Minecraft mc = Minecraft.getMinecraft();
+		final Entity viewer = mc.getRenderViewEntity();
+		if (viewer == null) {
+			culler.setView(0, 0, 0, 0, 0, 1, Math.PI, Double.MAX_VALUE, Double.MAX_VALUE);
+			return;
+		}
+
+		final Vec3d eye = ActiveRenderInfo.projectViewFromEntity(viewer, partialTicks);
+		Vec3d look = viewer.getLook(partialTicks);
+		if (mc.gameSettings.thirdPersonView == 2)
+			look = look.scale(-1D);
+
+		// Half angle of the cone that encloses the frustum
+		final double vertical = Math.toRadians(Math.min(179F, mc.gameSettings.fovSetting * FOV_SCALE + FOV_MARGIN))
+				/ 2D;
+		final double aspect = mc.displayHeight > 0 ? (double) mc.displayWidth / mc.displayHeight : 1D;
+		final double halfAngle = Math.atan(Math.tan(vertical) * Math.sqrt(1D + aspect * aspect));
+
+		final double range = ModOptions.effects.specialEffectRange;
+		culler.setView(eye.x, eye.y, eye.z, look.x, look.y, look.z, halfAngle, range, range / 2D);
+	}
+
+	@SubscribeEvent
+	public static void onRenderWorldLast(@Nonnull final RenderWorldLastEvent event) {
+		motesTested = motes.getTested();
+		motesCulled = motes.getCulled();
+		stale = true;
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		event.output.add(TextFormatting.AQUA + String.format("Culled: motes %d/%d (%s)", motesCulled, motesTested,
+				ratio(motesCulled, motesTested)));
+	}
+
+	private static String ratio(final int culled, final int tested) {
+		return tested == 0 ? "n/a" : String.format("%d%%", culled * 100 / tested);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.culling;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+/**
+ * Coarse visibility test for effects. The world is divided into cubic cells and
+ * each cell is classified once per view against a cone that encloses the view
+ * frustum and against the effect range. Results are remembered until the view
+ * changes, so classifying thousands of motes costs a hash lookup each. The
+ * class has no dependencies on Minecraft or GL.
+ */
+public final class ViewCuller {
+
+	public static final int VISIBLE = 0;
+	public static final int REDUCED = 1;
+	public static final int CULLED = 2;
+
+	public static final int CELL_SHIFT = 3;
+	public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+	// Radius of the sphere that encloses a cell
+	private static final double CELL_RADIUS = CELL_SIZE * Math.sqrt(3D) / 2D;
+
+	private final Long2IntOpenHashMap cells = new Long2IntOpenHashMap();
+
+	private double eyeX;
+	private double eyeY;
+	private double eyeZ;
+	private double dirX;
+	private double dirY = 0;
+	private double dirZ = 1;
+	private double halfAngle = Math.PI;
+	private double maxDistanceSq = Double.MAX_VALUE;
+	private double reducedDistanceSq = Double.MAX_VALUE;
+
+	private long lastKey = Long.MIN_VALUE;
+	private int lastResult;
+
+	private int tested;
+	private int culled;
+
+	public ViewCuller() {
+		this.cells.defaultReturnValue(-1);
+	}
+
+	/**
+	 * Sets up the view for classification. Any previous results are discarded.
+	 *
+	 * @param eyeX        Position of the camera
+	 * @param eyeY        Position of the camera
+	 * @param eyeZ        Position of the camera
+	 * @param dirX        Look vector of the camera. Does not need to be normalized.
+	 * @param dirY        Look vector of the camera
+	 * @param dirZ        Look vector of the camera
+	 * @param halfAngle   Half angle, in radians, of a cone enclosing the frustum
+	 * @param maxDistance Cells beyond this distance are culled
+	 * @param reduced     Cells beyond this distance are visible at reduced detail
+	 */
+	public void setView(final double eyeX, final double eyeY, final double eyeZ, final double dirX,
+			final double dirY, final double dirZ, final double halfAngle, final double maxDistance,
+			final double reduced) {
+		final double len = Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+		this.eyeX = eyeX;
+		this.eyeY = eyeY;
+		this.eyeZ = eyeZ;
+		if (len > 0) {
+			this.dirX = dirX / len;
+			this.dirY = dirY / len;
+			this.dirZ = dirZ / len;
+		}
+		this.halfAngle = halfAngle;
+		this.maxDistanceSq = maxDistance * maxDistance;
+		this.reducedDistanceSq = reduced * reduced;
+		reset();
+	}
+
+	/**
+	 * Discards the remembered cell results and statistics.
+	 */
+	public void reset() {
+		this.cells.clear();
+		this.lastKey = Long.MIN_VALUE;
+		this.tested = 0;
+		this.culled = 0;
+	}
+
+	/**
+	 * Classifies the point by the cell that contains it.
+	 *
+	 * @return VISIBLE, REDUCED, or CULLED
+	 */
+	public int classify(final double x, final double y, final double z) {
+		final int cx = floor(x) >> CELL_SHIFT;
+		final int cy = floor(y) >> CELL_SHIFT;
+		final int cz = floor(z) >> CELL_SHIFT;
+		final long key = pack(cx, cy, cz);
+
+		int result;
+		if (key == this.lastKey) {
+			result = this.lastResult;
+		} else {
+			result = this.cells.get(key);
+			if (result < 0) {
+				result = classifyCell(cx, cy, cz);
+				this.cells.put(key, result);
+			}
+			this.lastKey = key;
+			this.lastResult = result;
+		}
+
+		this.tested++;
+		if (result == CULLED)
+			this.culled++;
+		return result;
+	}
+
+	/**
+	 * Tests the cell at the specified cell coordinates against the current view.
+	 * Does not use or update the remembered results.
+	 */
+	public int classifyCell(final int cx, final int cy, final int cz) {
+		final double half = CELL_SIZE / 2D;
+		final double vX = (cx << CELL_SHIFT) + half - this.eyeX;
+		final double vY = (cy << CELL_SHIFT) + half - this.eyeY;
+		final double vZ = (cz << CELL_SHIFT) + half - this.eyeZ;
+		final double distSq = vX * vX + vY * vY + vZ * vZ;
+
+		// The camera is in or right next to the cell
+		if (distSq <= CELL_RADIUS * CELL_RADIUS)
+			return VISIBLE;
+
+		final double dist = Math.sqrt(distSq);
+		final double nearest = dist - CELL_RADIUS;
+		if (nearest * nearest > this.maxDistanceSq)
+			return CULLED;
+
+		if (!sphereInCone(vX, vY, vZ, dist, CELL_RADIUS))
+			return CULLED;
+
+		return nearest * nearest > this.reducedDistanceSq ? REDUCED : VISIBLE;
+	}
+
+	/**
+	 * Determines if a sphere intersects the view cone.
+	 *
+	 * @param vX     Vector from the camera to the sphere center
+	 * @param vY     Vector from the camera to the sphere center
+	 * @param vZ     Vector from the camera to the sphere center
+	 * @param dist   Length of the vector
+	 * @param radius Radius of the sphere
+	 */
+	public boolean sphereInCone(final double vX, final double vY, final double vZ, final double dist,
+			final double radius) {
+		if (dist <= radius)
+			return true;
+		final double cos = (vX * this.dirX + vY * this.dirY + vZ * this.dirZ) / dist;
+		final double angle = Math.acos(Math.max(-1D, Math.min(1D, cos)));
+		return angle <= this.halfAngle + Math.asin(radius / dist);
+	}
+
+	/**
+	 * Number of points classified since the view was set.
+	 */
+	public int getTested() {
+		return this.tested;
+	}
+
+	/**
+	 * Number of points culled since the view was set.
+	 */
+	public int getCulled() {
+		return this.culled;
+	}
+
+	private static int floor(final double value) {
+		final int i = (int) value;
+		return value < i ? i - 1 : i;
+	}
+
+	private static long pack(final int cx, final int cy, final int cz) {
+		return ((long) cx & 0x1FFFFFL) << 42 | ((long) cy & 0x1FFFFFL) << 21 | ((long) cz & 0x1FFFFFL);
+	}
+}
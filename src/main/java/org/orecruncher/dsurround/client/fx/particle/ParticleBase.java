@@ -26,6 +26,7 @@ package org.orecruncher.dsurround.client.fx.particle;
 
 import javax.annotation.Nonnull;
 
+import org.orecruncher.dsurround.client.fx.LightSampler;
 import org.orecruncher.lib.random.XorShiftRandom;
 
 import net.minecraft.client.Minecraft;
@@ -70,6 +71,11 @@ public abstract class ParticleBase extends Particle {
 		return this.manager.viewerPosZ;
 	}
 
+	@Override
+	public int getBrightnessForRender(final float partialTicks) {
+		return LightSampler.getCombinedLight(this.posX, this.posY, this.posZ);
+	}
+
 	protected void bindTexture(@Nonnull final ResourceLocation resource) {
 		Minecraft.getMinecraft().getTextureManager().bindTexture(resource);
 	}
@@ -26,6 +26,7 @@ package org.orecruncher.dsurround.client.fx.particle;
 
 import javax.annotation.Nonnull;
 
+import org.orecruncher.dsurround.client.fx.ParticleBudget;
 import org.orecruncher.dsurround.client.fx.ParticleCollections;
 import org.orecruncher.dsurround.client.handlers.SoundEffectHandler;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
@@ -123,12 +124,15 @@ public class ParticleDripOverride extends ParticleDrip {
 				doSteam = ParticleSteamCloud.isHotBlock(state);
 			}
 
-			if (doSteam) {
-				ParticleHelper.addParticle(
-						new ParticleSteamCloud(this.world, this.posX, this.pos.getY() + 1, this.posZ, 0.01D));
-			} else if (this.materialType != Material.LAVA) {
-				this.world.spawnParticle(EnumParticleTypes.WATER_SPLASH, this.posX, this.posY, this.posZ, 0.0D, 0.0D,
-						0.0D);
+			// The ripple has already been charged by the collection
+			if (ParticleBudget.trySpawn(ParticleBudget.Subsystem.DRIPS, this.posX, this.posY, this.posZ)) {
+				if (doSteam) {
+					ParticleHelper.addParticle(
+							new ParticleSteamCloud(this.world, this.posX, this.pos.getY() + 1, this.posZ, 0.01D));
+				} else if (this.materialType != Material.LAVA) {
+					this.world.spawnParticle(EnumParticleTypes.WATER_SPLASH, this.posX, this.posY, this.posZ, 0.0D,
+							0.0D, 0.0D);
+				}
 			}
 
 			setExpired();
@@ -24,6 +24,7 @@
 
 package org.orecruncher.dsurround.client.fx.particle;
 
+import org.orecruncher.dsurround.client.fx.LightSampler;
 import org.orecruncher.lib.WorldUtils;
 import org.orecruncher.lib.random.XorShiftRandom;
 
@@ -121,7 +122,7 @@ public class ParticleDust extends ParticleBlockDust {
 
 	@Override
 	public int getBrightnessForRender(final float partialTicks) {
-		return this.world.getCombinedLight(this.pos, 0);
+		return LightSampler.getCombinedLight(this.pos);
 	}
 
 }
\ No newline at end of file
@@ -50,9 +50,7 @@ public class ParticleTextPopOff extends ParticleBase {
 	protected int renderColor = Color.WHITE.rgbWithAlpha(1F);
 	protected boolean grow = true;
 
-	protected String text;
-	protected float drawX;
-	protected float drawY;
+	protected TextPopOffLayout layout;
 
 	public ParticleTextPopOff(final World world, final String text, final Color color, final double x, final double y,
 			final double z) {
@@ -82,9 +80,7 @@ public class ParticleTextPopOff extends ParticleBase {
 	}
 
 	public ParticleTextPopOff setText(@Nonnull final String text) {
-		this.text = text;
-		this.drawX = -MathHelper.floor(this.font.getStringWidth(this.text) / 2.0F) + 1;
-		this.drawY = -MathHelper.floor(this.font.FONT_HEIGHT / 2.0F) + 1;
+		this.layout = TextPopOffLayout.get(this.font, text);
 		return this;
 	}
 
@@ -104,19 +100,26 @@ public class ParticleTextPopOff extends ParticleBase {
 		final float locY = ((float) (this.prevPosY + (this.posY - this.prevPosY) * partialTicks - interpY()));
 		final float locZ = ((float) (this.prevPosZ + (this.posZ - this.prevPosZ) * partialTicks - interpZ()));
 
-		final OpenGlState glState = OpenGlState.push();
-		GlStateManager.translate(locX, locY, locZ);
-		GlStateManager.rotate(yaw, 0.0F, 1.0F, 0.0F);
-		GlStateManager.rotate(pitch, 1.0F, 0.0F, 0.0F);
-		GlStateManager.scale(-1.0F, -1.0F, 1.0F);
-		GlStateManager.scale(this.particleScale * 0.008D, this.particleScale * 0.008D, this.particleScale * 0.008D);
-		OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, 240.0F, 0.003662109F);
-		this.font.drawString(this.text, this.drawX, this.drawY, SHADOW_COLOR, false);
-		GlStateManager.translate(-0.3F, -0.3F, -0.001F);
-		this.font.drawString(this.text, this.drawX, this.drawY, this.renderColor, false);
-		OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, OpenGlHelper.lastBrightnessX,
-				OpenGlHelper.lastBrightnessY);
-		OpenGlState.pop(glState);
+		final float scale = this.particleScale * 0.008F;
+		if (this.layout.hasQuads()) {
+			// Drawn together with the other pop-offs once the frame is done
+			TextPopOffBatch.add(this.layout, locX, locY, locZ, yaw, pitch, scale, this.renderColor);
+		} else {
+			final OpenGlState glState = OpenGlState.push();
+			GlStateManager.translate(locX, locY, locZ);
+			GlStateManager.rotate(yaw, 0.0F, 1.0F, 0.0F);
+			GlStateManager.rotate(pitch, 1.0F, 0.0F, 0.0F);
+			GlStateManager.scale(-1.0F, -1.0F, 1.0F);
+			GlStateManager.scale(scale, scale, scale);
+			OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, 240.0F, 0.003662109F);
+			final TextPopOffLayout l = this.layout;
+			this.font.drawString(l.text, l.drawX, l.drawY, SHADOW_COLOR, false);
+			GlStateManager.translate(-0.3F, -0.3F, -0.001F);
+			this.font.drawString(l.text, l.drawX, l.drawY, this.renderColor, false);
+			OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, OpenGlHelper.lastBrightnessX,
+					OpenGlHelper.lastBrightnessY);
+			OpenGlState.pop(glState);
+		}
 
 		if (this.grow) {
 			this.particleScale *= 1.08F;
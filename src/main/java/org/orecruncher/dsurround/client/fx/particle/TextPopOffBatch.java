@@ -0,0 +1,152 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.lwjgl.opengl.GL11;
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.lib.collections.ObjectArray;
+import org.orecruncher.lib.gfx.OpenGlState;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Collects the text pop-offs rendered during a frame and draws them all with
+ * one tessellator pass once the world has been rendered. The particle manager
+ * renders each pop-off on its own, so instead of setting up a GL transform per
+ * pop-off the billboard transform is worked out here and applied to the glyph
+ * quads as they are written.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class TextPopOffBatch {
+
+	// Origin followed by the x, y and z axes of the pop-off
+	private static final int FRAME_SIZE = 12;
+	private static final float TO_RADIANS = (float) (Math.PI / 180D);
+
+	private static final float TEXT_OFFSET = -0.3F;
+	private static final float TEXT_DEPTH = -0.001F;
+
+	private static final ObjectArray<TextPopOffLayout> layouts = new ObjectArray<>(32);
+	private static float[] frames = new float[FRAME_SIZE * 32];
+	private static int[] colors = new int[32];
+
+	private TextPopOffBatch() {
+
+	}
+
+	/**
+	 * Queues a pop-off for drawing at the end of the frame. Mirrors the transform
+	 * ParticleTextPopOff used to set up: translate to the location, turn to face
+	 * the viewer, flip, and scale.
+	 *
+	 * @param layout Layout of the text, must have quads
+	 * @param x      Location relative to the viewer
+	 * @param y      Location relative to the viewer
+	 * @param z      Location relative to the viewer
+	 * @param yaw    Rotation about the Y axis in degrees
+	 * @param pitch  Rotation about the X axis in degrees
+	 * @param scale  Size of a font pixel in blocks
+	 * @param argb   Color of the text
+	 */
+	public static void add(@Nonnull final TextPopOffLayout layout, final float x, final float y, final float z,
+			final float yaw, final float pitch, final float scale, final int argb) {
+		final int idx = layouts.size();
+		if ((idx + 1) * FRAME_SIZE > frames.length) {
+			frames = Arrays.copyOf(frames, frames.length * 2);
+			colors = Arrays.copyOf(colors, colors.length * 2);
+		}
+
+		final float sinYaw = MathHelper.sin(yaw * TO_RADIANS);
+		final float cosYaw = MathHelper.cos(yaw * TO_RADIANS);
+		final float sinPitch = MathHelper.sin(pitch * TO_RADIANS);
+		final float cosPitch = MathHelper.cos(pitch * TO_RADIANS);
+
+		final float[] f = frames;
+		final int base = idx * FRAME_SIZE;
+		f[base] = x;
+		f[base + 1] = y;
+		f[base + 2] = z;
+		// X and Y are flipped so the text reads left to right, top down
+		f[base + 3] = -scale * cosYaw;
+		f[base + 4] = 0F;
+		f[base + 5] = scale * sinYaw;
+		f[base + 6] = -scale * sinYaw * sinPitch;
+		f[base + 7] = -scale * cosPitch;
+		f[base + 8] = -scale * cosYaw * sinPitch;
+		f[base + 9] = scale * sinYaw * cosPitch;
+		f[base + 10] = -scale * sinPitch;
+		f[base + 11] = scale * cosYaw * cosPitch;
+
+		colors[idx] = argb;
+		layouts.add(layout);
+	}
+
+	@SubscribeEvent
+	public static void onRenderWorldLast(@Nonnull final RenderWorldLastEvent event) {
+		if (layouts.isEmpty())
+			return;
+
+		final OpenGlState glState = OpenGlState.push();
+		Minecraft.getMinecraft().getTextureManager().bindTexture(TextPopOffLayout.ASCII_TEXTURE);
+		GlStateManager.color(1F, 1F, 1F, 1F);
+		GlStateManager.disableLighting();
+		GlStateManager.enableTexture2D();
+		GlStateManager.enableAlpha();
+		GlStateManager.enableBlend();
+		GlStateManager.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+		OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, 240.0F, 0.003662109F);
+
+		final BufferBuilder buffer = Tessellator.getInstance().getBuffer();
+		buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX_COLOR);
+		for (int i = 0; i < layouts.size(); i++) {
+			final TextPopOffLayout layout = layouts.get(i);
+			final int base = i * FRAME_SIZE;
+			layout.emit(buffer, frames, base, 0F, 0F, 0F, ParticleTextPopOff.SHADOW_COLOR);
+			layout.emit(buffer, frames, base, TEXT_OFFSET, TEXT_OFFSET, TEXT_DEPTH, colors[i]);
+		}
+		Tessellator.getInstance().draw();
+
+		OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, OpenGlHelper.lastBrightnessX,
+				OpenGlHelper.lastBrightnessY);
+		OpenGlState.pop(glState);
+		layouts.clear();
+	}
+}
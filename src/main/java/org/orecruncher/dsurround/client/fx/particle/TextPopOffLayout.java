@@ -0,0 +1,229 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Pre-laid-out glyph quads for a text pop-off string. The quads mirror what
+ * FontRenderer does for the default ASCII font page so pop-offs can be drawn
+ * with a single tessellator pass instead of two drawString() calls that each
+ * issue immediate mode geometry per character. Layouts are kept in a small
+ * LRU keyed by the string since damage pop-offs tend to repeat the same
+ * handful of values.
+ */
+@SideOnly(Side.CLIENT)
+public final class TextPopOffLayout {
+
+	public static final ResourceLocation ASCII_TEXTURE = new ResourceLocation("textures/font/ascii.png");
+
+	static final int CACHE_SIZE = 64;
+	private static final float GLYPH_HEIGHT = 7.99F;
+	private static final float PAGE_SIZE = 128F;
+
+	private static final Map<String, TextPopOffLayout> cache = new LinkedHashMap<String, TextPopOffLayout>(
+			CACHE_SIZE, 0.75F, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, TextPopOffLayout> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private static FontRenderer cachedFont;
+	private static IGlyphMetrics fontMetrics;
+	private static IGlyphMetrics cachedMetrics;
+	private static boolean cachedAscii;
+
+	public final String text;
+	public final float drawX;
+	public final float drawY;
+
+	// x, y, u, v for each of the four corners of each glyph. Null if the text
+	// cannot be laid out from the ASCII page and needs the FontRenderer.
+	@Nullable
+	final float[] quads;
+
+	private TextPopOffLayout(@Nonnull final IGlyphMetrics metrics, @Nonnull final String text) {
+		this.text = text;
+		this.drawX = -MathHelper.floor(metrics.getStringWidth(text) / 2.0F) + 1;
+		this.drawY = -MathHelper.floor(metrics.getFontHeight() / 2.0F) + 1;
+		this.quads = layout(metrics, text, this.drawX, this.drawY);
+	}
+
+	/**
+	 * Indicates if the layout has quads that can be emitted. If not the text has
+	 * to go through the FontRenderer.
+	 */
+	public boolean hasQuads() {
+		return this.quads != null;
+	}
+
+	/**
+	 * Writes the glyph quads in POSITION_TEX_COLOR format. Where they end up is
+	 * given by a frame of 12 floats starting at base: the origin, followed by
+	 * the x, y and z axes of the layout expressed in the coordinates of the
+	 * buffer.
+	 */
+	public void emit(@Nonnull final BufferBuilder buffer, @Nonnull final float[] frame, final int base,
+			final float offsetX, final float offsetY, final float z, final int argb) {
+		final int a = argb >> 24 & 255;
+		final int r = argb >> 16 & 255;
+		final int g = argb >> 8 & 255;
+		final int b = argb & 255;
+		final float originX = frame[base] + z * frame[base + 9];
+		final float originY = frame[base + 1] + z * frame[base + 10];
+		final float originZ = frame[base + 2] + z * frame[base + 11];
+		final float[] q = this.quads;
+		for (int i = 0; i < q.length; i += 4) {
+			final float x = q[i] + offsetX;
+			final float y = q[i + 1] + offsetY;
+			buffer.pos(originX + x * frame[base + 3] + y * frame[base + 6],
+					originY + x * frame[base + 4] + y * frame[base + 7],
+					originZ + x * frame[base + 5] + y * frame[base + 8]).tex(q[i + 2], q[i + 3]).color(r, g, b, a)
+					.endVertex();
+		}
+	}
+
+	@Nullable
+	private static float[] layout(@Nonnull final IGlyphMetrics metrics, @Nonnull final String text, final float x,
+			final float y) {
+		if (!metrics.usesAsciiPage())
+			return null;
+
+		int glyphs = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			// Only the printable ASCII range maps 1:1 onto the default page
+			if (c < 32 || c > 126)
+				return null;
+			if (c != ' ')
+				glyphs++;
+		}
+
+		final float[] result = new float[glyphs * 16];
+		float posX = x;
+		int idx = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			final int width = metrics.getCharWidth(c);
+			if (c != ' ') {
+				final float u = (c % 16 * 8) / PAGE_SIZE;
+				final float v = (c / 16 * 8) / PAGE_SIZE;
+				final float w = width - 1.01F;
+				final float u2 = u + w / PAGE_SIZE;
+				final float v2 = v + GLYPH_HEIGHT / PAGE_SIZE;
+				idx = corner(result, idx, posX, y, u, v);
+				idx = corner(result, idx, posX, y + GLYPH_HEIGHT, u, v2);
+				idx = corner(result, idx, posX + w, y + GLYPH_HEIGHT, u2, v2);
+				idx = corner(result, idx, posX + w, y, u2, v);
+			}
+			posX += width;
+		}
+		return result;
+	}
+
+	private static int corner(@Nonnull final float[] q, int idx, final float x, final float y, final float u,
+			final float v) {
+		q[idx++] = x;
+		q[idx++] = y;
+		q[idx++] = u;
+		q[idx++] = v;
+		return idx;
+	}
+
+	/**
+	 * Obtains the layout for the specified text, building it if needed.
+	 */
+	@Nonnull
+	public static TextPopOffLayout get(@Nonnull final FontRenderer font, @Nonnull final String text) {
+		if (font != cachedFont) {
+			cachedFont = font;
+			fontMetrics = new FontMetrics(font);
+		}
+		return get(fontMetrics, text);
+	}
+
+	/**
+	 * Obtains the layout for the specified text, building it if needed. The
+	 * cache is flushed when the metrics change.
+	 */
+	@Nonnull
+	public static TextPopOffLayout get(@Nonnull final IGlyphMetrics metrics, @Nonnull final String text) {
+		if (metrics != cachedMetrics || metrics.usesAsciiPage() != cachedAscii) {
+			cache.clear();
+			cachedMetrics = metrics;
+			cachedAscii = metrics.usesAsciiPage();
+		}
+
+		TextPopOffLayout layout = cache.get(text);
+		if (layout == null) {
+			layout = new TextPopOffLayout(metrics, text);
+			cache.put(text, layout);
+		}
+		return layout;
+	}
+
+	private static final class FontMetrics implements IGlyphMetrics {
+
+		private final FontRenderer font;
+
+		FontMetrics(@Nonnull final FontRenderer font) {
+			this.font = font;
+		}
+
+		@Override
+		public int getStringWidth(@Nonnull final String text) {
+			return this.font.getStringWidth(text);
+		}
+
+		@Override
+		public int getCharWidth(final char c) {
+			return this.font.getCharWidth(c);
+		}
+
+		@Override
+		public int getFontHeight() {
+			return this.font.FONT_HEIGHT;
+		}
+
+		@Override
+		public boolean usesAsciiPage() {
+			return !this.font.getUnicodeFlag() && !this.font.getBidiFlag();
+		}
+	}
+}
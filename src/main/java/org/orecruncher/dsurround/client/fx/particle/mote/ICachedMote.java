@@ -24,36 +24,32 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
-import net.minecraft.util.math.MathHelper;
-import net.minecraft.world.World;
+import javax.annotation.Nonnull;
+
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Implemented by motes whose geometry is kept in a MoteVertexCache. Such motes
+ * do not move so their vertices can be written once relative to the cache
+ * origin and reused until something about their appearance changes.
+ */
 @SideOnly(Side.CLIENT)
-public class MoteRainSplash extends MoteWaterSpray {
-
-	public MoteRainSplash(final World world, final double x, final double y, final double z) {
-		super(world, x, y, z, 0, 0, 0);
-
-		// Setup motion
-		this.motionX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
-		this.motionY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
-		this.motionZ = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
-		final float f = (float) (RANDOM.nextDouble() + RANDOM.nextDouble() + 1.0D) * 0.15F;
-		final float f1 = MathHelper
-				.sqrt(this.motionX * this.motionX + this.motionY * this.motionY + this.motionZ * this.motionZ);
-		this.motionX = this.motionX / f1 * f * 0.4000000059604645D;
-		this.motionY = this.motionY / f1 * f * 0.4000000059604645D + 0.10000000149011612D;
-		this.motionZ = this.motionZ / f1 * f * 0.4000000059604645D;
-
-		this.motionX *= 0.30000001192092896D;
-		this.motionY = RANDOM.nextDouble() * 0.20000000298023224D + 0.10000000149011612D;
-		this.motionZ *= 0.30000001192092896D;
-	}
-
-	@Override
-	public void configureColor() {
-		this.red = this.green = this.blue = this.alpha = 255;
-	}
+public interface ICachedMote extends IParticleMote {
+
+	/**
+	 * Refreshes any render state that depends on the frame being rendered.
+	 *
+	 * @param partialTicks Partial tick of the current frame
+	 * @return true if the vertices of the mote need to be rewritten
+	 */
+	boolean prepareRender(final float partialTicks);
+
+	/**
+	 * Writes the quad for the mote into the cache. Positions are relative to the
+	 * specified origin.
+	 */
+	void writeVertices(@Nonnull final MoteVertexCache cache, final double originX, final double originY,
+			final double originZ);
 
 }
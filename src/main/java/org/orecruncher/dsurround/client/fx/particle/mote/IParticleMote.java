@@ -24,6 +24,10 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.fx.culling.ViewCuller;
+
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.entity.Entity;
 import net.minecraftforge.fml.relauncher.Side;
@@ -51,6 +55,22 @@ public interface IParticleMote {
 	 */
 	void onUpdate();
 
+	/**
+	 * Called by a collection once a dead mote has been removed. Motes that are
+	 * pooled return themselves to their pool for reuse.
+	 */
+	default void release() {
+
+	}
+
+	/**
+	 * Indicates if the mote should be rendered for the current view. Motes that
+	 * do not know where they are are always rendered.
+	 */
+	default boolean isVisible(@Nonnull final ViewCuller culler) {
+		return true;
+	}
+
 	/**
 	 * Causes the mote to render itself.
 	 */
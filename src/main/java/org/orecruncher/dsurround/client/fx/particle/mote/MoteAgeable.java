@@ -44,6 +44,12 @@ public abstract class MoteAgeable extends MoteParticle {
 		this.age = 0;
 	}
 
+	protected final void resetAgeable(@Nonnull final World world, final double x, final double y, final double z) {
+		resetParticle(world, x, y, z);
+		this.age = 0;
+		this.maxAge = 0;
+	}
+
 	protected boolean advanceAge() {
 		return this.age++ >= this.maxAge;
 	}
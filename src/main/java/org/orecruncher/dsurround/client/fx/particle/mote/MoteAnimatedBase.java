@@ -76,6 +76,20 @@ public abstract class MoteAnimatedBase extends MoteMotionBase {
 
 	}
 
+	protected final void resetAnimated(@Nonnull final World world, final double x, final double y, final double z,
+			final double dX, final double dY, final double dZ) {
+		resetMotion(world, x, y, z, dX, dY, dZ);
+
+		this.baseAirFriction = 0.91F;
+		this.fadeTargetRed = this.fadeTargetGreen = this.fadeTargetBlue = 0F;
+		this.fadingColor = false;
+		this.xAcceleration = this.yAcceleration = this.zAcceleration = 0D;
+		this.doRender = false;
+		this.particleTextureIndexX = this.particleTextureIndexY = 0;
+		this.texU1 = this.texU2 = this.texV1 = this.texV2 = 0F;
+		this.particleScale = (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F;
+	}
+
 	public void setColor(final int rgb) {
 		this.red = ((rgb & 16711680) >> 16);
 		this.green = ((rgb & 65280) >> 8);
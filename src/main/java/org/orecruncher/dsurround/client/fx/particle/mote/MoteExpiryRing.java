@@ -0,0 +1,97 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.lib.collections.ObjectArray;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Ring of buckets indexed by the tick a mote expires. Motes with a lifetime
+ * that is fixed when they spawn are dropped in here and killed a whole bucket
+ * at a time when their tick comes around, so they do not have to check their
+ * own age every tick.
+ */
+@SideOnly(Side.CLIENT)
+public final class MoteExpiryRing {
+
+	private final ObjectArray<IParticleMote>[] buckets;
+	private final int mask;
+	private int currentTick;
+
+	/**
+	 * @param size Number of buckets. Rounded up to a power of two and needs to be
+	 *             larger than the longest lifetime that will be added.
+	 * @param tick The current tick
+	 */
+	@SuppressWarnings("unchecked")
+	public MoteExpiryRing(final int size, final int tick) {
+		final int buckets = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+		this.buckets = new ObjectArray[buckets];
+		for (int i = 0; i < buckets; i++)
+			this.buckets[i] = new ObjectArray<>(16);
+		this.mask = buckets - 1;
+		this.currentTick = tick;
+	}
+
+	/**
+	 * Adds a mote that is to be killed when the ring reaches the specified tick.
+	 * Expiry ticks beyond the reach of the ring are clamped.
+	 */
+	public void add(@Nonnull final IParticleMote mote, final int expiryTick) {
+		final int ttl = Math.max(1, Math.min(expiryTick - this.currentTick, this.mask));
+		this.buckets[(this.currentTick + ttl) & this.mask].add(mote);
+	}
+
+	/**
+	 * Advances the ring to the specified tick killing every mote whose bucket
+	 * has come due along the way.
+	 *
+	 * @return The number of motes that were killed
+	 */
+	public int expire(final int tick) {
+		int killed = 0;
+		final int steps = Math.min(tick - this.currentTick, this.buckets.length);
+		for (int i = 1; i <= steps; i++) {
+			final ObjectArray<IParticleMote> bucket = this.buckets[(this.currentTick + i) & this.mask];
+			final int size = bucket.size();
+			if (size > 0) {
+				for (int j = 0; j < size; j++)
+					bucket.get(j).kill();
+				bucket.clear();
+				killed += size;
+			}
+		}
+		this.currentTick = tick;
+		return killed;
+	}
+
+	public int getCurrentTick() {
+		return this.currentTick;
+	}
+}
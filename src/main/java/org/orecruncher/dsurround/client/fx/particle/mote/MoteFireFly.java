@@ -24,6 +24,8 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
+import javax.annotation.Nonnull;
+
 import org.orecruncher.lib.Color;
 
 import net.minecraft.client.Minecraft;
@@ -44,9 +46,36 @@ public class MoteFireFly extends MoteAnimatedBase implements IIlluminatedMote {
 	private static final float Y_MOTION_DELTA = XZ_MOTION_DELTA / 2.0F;
 	private static final float ACCELERATION = 0.004F;
 
+	private static final MotePool<MoteFireFly> POOL = new MotePool<>("Fireflies", 256);
+
+	/**
+	 * Obtains a firefly mote, reusing a dead one from the pool if possible.
+	 */
+	@Nonnull
+	public static MoteFireFly create(@Nonnull final World world, final double x, final double y, final double z) {
+		final MoteFireFly mote = POOL.acquire();
+		if (mote == null)
+			return new MoteFireFly(world, x, y, z);
+		mote.reset(world, x, y, z);
+		return mote;
+	}
+
+	@Nonnull
+	public static MotePool<MoteFireFly> pool() {
+		return POOL;
+	}
+
 	public MoteFireFly(World world, double x, double y, double z) {
 		super(160, 8, world, x, y, z, 0, 0, 0);
+		init();
+	}
 
+	public void reset(@Nonnull final World world, final double x, final double y, final double z) {
+		resetAnimated(world, x, y, z, 0, 0, 0);
+		init();
+	}
+
+	private void init() {
 		this.motionX = RANDOM.nextGaussian() * XZ_MOTION_DELTA;
 		this.motionZ = RANDOM.nextGaussian() * XZ_MOTION_DELTA;
 		this.motionY = RANDOM.nextGaussian() * Y_MOTION_DELTA;
@@ -64,6 +93,11 @@ public class MoteFireFly extends MoteAnimatedBase implements IIlluminatedMote {
 		setColorFade(fadeColorRGB);
 	}
 
+	@Override
+	public void release() {
+		POOL.release(this);
+	}
+
 	@Override
 	public void update() {
 		super.update();
@@ -43,7 +43,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class MoteFootprint extends MoteAgeable {
+public class MoteFootprint extends MoteAgeable implements ICachedMote {
 
 	// Texture properties of the print
 	private static final float TEXEL_WIDTH = 1F / 8F;
@@ -57,26 +57,65 @@ public class MoteFootprint extends MoteAgeable {
 	private static final Vec2f THIRD_POINT = new Vec2f(WIDTH, -LENGTH);
 	private static final Vec2f FOURTH_POINT = new Vec2f(-WIDTH, -LENGTH);
 
+	private static final MotePool<MoteFootprint> POOL = new MotePool<>("Footprints", 256);
+
 	// Micro Y adjuster to avoid z-fighting when rendering
 	// multiple overlapping prints.
 	private static float zFighter = 0F;
 
-	protected final boolean isSnowLayer;
-	protected final BlockPos downPos;
+	protected boolean isSnowLayer;
+	protected final BlockPos.MutableBlockPos downPos = new BlockPos.MutableBlockPos();
+
+	protected float texU1, texU2;
+	protected float texV1, texV2;
+	protected float scale;
 
-	protected final float texU1, texU2;
-	protected final float texV1, texV2;
-	protected final float scale;
+	protected Vec2f firstPoint;
+	protected Vec2f secondPoint;
+	protected Vec2f thirdPoint;
+	protected Vec2f fourthPoint;
 
-	protected final Vec2f firstPoint;
-	protected final Vec2f secondPoint;
-	protected final Vec2f thirdPoint;
-	protected final Vec2f fourthPoint;
+	// State the cached vertices were last written with
+	protected int renderedAlpha = -1;
+	protected int renderedSkyLight = -1;
+	protected int renderedBlockLight = -1;
 
 	public MoteFootprint(@Nonnull final FootprintStyle style, @Nonnull final World world, final double x,
 			final double y, final double z, final float rotation, final float scale, final boolean isRight) {
 		super(world, x, y, z);
+		init(style, y, rotation, scale, isRight);
+	}
+
+	/**
+	 * Obtains a footprint mote, reusing a dead one from the pool if possible.
+	 */
+	@Nonnull
+	public static MoteFootprint create(@Nonnull final FootprintStyle style, @Nonnull final World world,
+			final double x, final double y, final double z, final float rotation, final float scale,
+			final boolean isRight) {
+		final MoteFootprint mote = POOL.acquire();
+		if (mote == null)
+			return new MoteFootprint(style, world, x, y, z, rotation, scale, isRight);
+		mote.reset(style, world, x, y, z, rotation, scale, isRight);
+		return mote;
+	}
+
+	@Nonnull
+	public static MotePool<MoteFootprint> pool() {
+		return POOL;
+	}
 
+	public void reset(@Nonnull final FootprintStyle style, @Nonnull final World world, final double x,
+			final double y, final double z, final float rotation, final float scale, final boolean isRight) {
+		resetAgeable(world, x, y, z);
+		this.renderedAlpha = -1;
+		this.renderedSkyLight = -1;
+		this.renderedBlockLight = -1;
+		init(style, y, rotation, scale, isRight);
+	}
+
+	private void init(@Nonnull final FootprintStyle style, final double y, final float rotation, final float scale,
+			final boolean isRight) {
 		this.maxAge = 200;
 
 		if (++zFighter > 20)
@@ -90,9 +129,9 @@ public class MoteFootprint extends MoteAgeable {
 		// Make sure that the down position is calculated from the display position!
 		final float fraction = (float) (y - (int) y);
 		if (this.isSnowLayer || fraction <= 0.0625F) {
-			this.downPos = new BlockPos(this.posX, this.posY, this.posZ).down();
+			this.downPos.setPos(this.posX, this.posY - 1, this.posZ);
 		} else {
-			this.downPos = this.position.toImmutable();
+			this.downPos.setPos(this.position);
 		}
 
 		float u1 = style.ordinal() * TEXEL_WIDTH + 1 / 256F;
@@ -115,6 +154,11 @@ public class MoteFootprint extends MoteAgeable {
 		this.fourthPoint = MathStuff.rotateScale(FOURTH_POINT, theRotation, this.scale);
 	}
 
+	@Override
+	public void release() {
+		POOL.release(this);
+	}
+
 	@Override
 	protected boolean advanceAge() {
 		// Footprints age faster when raining
@@ -133,16 +177,49 @@ public class MoteFootprint extends MoteAgeable {
 		}
 	}
 
-	@Override
-	public void renderParticle(BufferBuilder buffer, Entity entityIn, float partialTicks, float rotX, float rotZ,
-			float rotYZ, float rotXY, float rotXZ) {
-
+	protected void updateAlpha(final float partialTicks) {
 		float f = (this.age + partialTicks) / ((float) this.maxAge + 1);
 		f = f * f;
 		this.alpha = (int) (MathStuff.clamp(1.0F - f, 0F, 1F) * 255);
 
 		// Sets the alpha
 		this.alpha = (int) (this.alpha * 0.4F);
+	}
+
+	@Override
+	public boolean prepareRender(final float partialTicks) {
+		updateAlpha(partialTicks);
+		if (this.alpha == this.renderedAlpha && this.slX16 == this.renderedSkyLight
+				&& this.blX16 == this.renderedBlockLight)
+			return false;
+		this.renderedAlpha = this.alpha;
+		this.renderedSkyLight = this.slX16;
+		this.renderedBlockLight = this.blX16;
+		return true;
+	}
+
+	@Override
+	public void writeVertices(@Nonnull final MoteVertexCache cache, final double originX, final double originY,
+			final double originZ) {
+		final float x = (float) (this.posX - originX);
+		final float y = (float) (this.posY - originY);
+		final float z = (float) (this.posZ - originZ);
+
+		cache.vertex(x + this.firstPoint.x, y, z + this.firstPoint.y, this.texU1, this.texV2, this.red, this.green,
+				this.blue, this.alpha, this.slX16, this.blX16);
+		cache.vertex(x + this.secondPoint.x, y, z + this.secondPoint.y, this.texU2, this.texV2, this.red,
+				this.green, this.blue, this.alpha, this.slX16, this.blX16);
+		cache.vertex(x + this.thirdPoint.x, y, z + this.thirdPoint.y, this.texU2, this.texV1, this.red, this.green,
+				this.blue, this.alpha, this.slX16, this.blX16);
+		cache.vertex(x + this.fourthPoint.x, y, z + this.fourthPoint.y, this.texU1, this.texV1, this.red,
+				this.green, this.blue, this.alpha, this.slX16, this.blX16);
+	}
+
+	@Override
+	public void renderParticle(BufferBuilder buffer, Entity entityIn, float partialTicks, float rotX, float rotZ,
+			float rotYZ, float rotXY, float rotXZ) {
+
+		updateAlpha(partialTicks);
 
 		final double x = renderX(partialTicks);
 		final double y = renderY(partialTicks);
@@ -50,6 +50,16 @@ public abstract class MoteMotionBase extends MoteAgeable {
 	protected MoteMotionBase(@Nonnull final World world, final double x, final double y, final double z,
 			final double dX, final double dY, final double dZ) {
 		super(world, x, y, z);
+		initMotion(dX, dY, dZ);
+	}
+
+	protected final void resetMotion(@Nonnull final World world, final double x, final double y, final double z,
+			final double dX, final double dY, final double dZ) {
+		resetAgeable(world, x, y, z);
+		initMotion(dX, dY, dZ);
+	}
+
+	private void initMotion(final double dX, final double dY, final double dZ) {
 		this.prevX = this.posX;
 		this.prevY = this.posY;
 		this.prevZ = this.posZ;
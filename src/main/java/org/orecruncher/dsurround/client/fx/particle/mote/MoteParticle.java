@@ -27,7 +27,8 @@ import java.util.Random;
 
 import javax.annotation.Nonnull;
 
-import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.dsurround.client.fx.LightSampler;
+import org.orecruncher.dsurround.client.fx.culling.ViewCuller;
 import org.orecruncher.lib.random.XorShiftRandom;
 
 import net.minecraft.client.Minecraft;
@@ -48,7 +49,7 @@ public abstract class MoteParticle implements IParticleMote {
 	protected static final Random RANDOM = XorShiftRandom.current();
 	protected static final RenderManager RENDERER = Minecraft.getMinecraft().getRenderManager();
 
-	protected final World world;
+	protected World world;
 
 	protected boolean isAlive = true;
 	protected double posX;
@@ -70,6 +71,18 @@ public abstract class MoteParticle implements IParticleMote {
 		configureColor();
 	}
 
+	/**
+	 * Brings a dead mote back to the state it would have right after
+	 * construction so that it can be reused.
+	 */
+	protected final void resetParticle(@Nonnull final World world, final double x, final double y, final double z) {
+		this.world = world;
+		this.isAlive = true;
+		this.slX16 = this.blX16 = 0;
+		setPosition(x, y, z);
+		configureColor();
+	}
+
 	public void setPosition(final double posX, final double posY, final double posZ) {
 		this.posX = posX;
 		this.posY = posY;
@@ -109,6 +122,11 @@ public abstract class MoteParticle implements IParticleMote {
 
 	}
 
+	@Override
+	public boolean isVisible(@Nonnull final ViewCuller culler) {
+		return culler.classify(this.posX, this.posY, this.posZ) != ViewCuller.CULLED;
+	}
+
 	public void updateBrightness() {
 		final int combinedLight = getBrightnessForRender(0);
 		this.slX16 = combinedLight >> 16 & 65535;
@@ -160,7 +178,7 @@ public abstract class MoteParticle implements IParticleMote {
 			float rotZ, float rotYZ, float rotXY, float rotXZ);
 
 	public int getBrightnessForRender(final float partialTicks) {
-		return ClientChunkCache.instance().getCombinedLight(this.position, 0);
+		return LightSampler.getCombinedLight(this.position);
 	}
 
 }
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Freelist of dead motes of a given type. Collections hand motes back when
+ * they are removed and the mote factories pull from here before allocating a
+ * new one. A pooled mote holds on to the world it was last in so the pools
+ * need to be cleared when the world unloads.
+ */
+@SideOnly(Side.CLIENT)
+public final class MotePool<T extends IParticleMote> {
+
+	private final String name;
+	private final Object[] free;
+	private int top;
+
+	private long hits;
+	private long misses;
+
+	public MotePool(@Nonnull final String name, final int capacity) {
+		this.name = name;
+		this.free = new Object[capacity];
+	}
+
+	/**
+	 * Returns a dead mote for re-initialization, or null if the pool is empty and
+	 * the caller has to allocate.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public T acquire() {
+		if (this.top == 0) {
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		final T mote = (T) this.free[--this.top];
+		this.free[this.top] = null;
+		return mote;
+	}
+
+	/**
+	 * Hands a dead mote back to the pool. If the pool is full the mote is left
+	 * for the garbage collector.
+	 */
+	public void release(@Nonnull final T mote) {
+		if (this.top < this.free.length)
+			this.free[this.top++] = mote;
+	}
+
+	public void clear() {
+		for (int i = 0; i < this.top; i++)
+			this.free[i] = null;
+		this.top = 0;
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		final long total = this.hits + this.misses;
+		final float rate = total == 0 ? 0F : this.hits * 100F / total;
+		return String.format("%s Pool: %.1f%% hit, %d free", this.name, rate, this.top);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Batch of spray spawn requests held in parallel arrays. Emitters write into
+ * the buffer over the course of a tick and the whole batch is handed to the
+ * spray collection in one go.
+ */
+@SideOnly(Side.CLIENT)
+public final class MoteSpawnBuffer {
+
+	final double[] posX;
+	final double[] posY;
+	final double[] posZ;
+	final double[] motionX;
+	final double[] motionY;
+	final double[] motionZ;
+	final int[] color;
+	int count;
+
+	public MoteSpawnBuffer(final int capacity) {
+		this.posX = new double[capacity];
+		this.posY = new double[capacity];
+		this.posZ = new double[capacity];
+		this.motionX = new double[capacity];
+		this.motionY = new double[capacity];
+		this.motionZ = new double[capacity];
+		this.color = new int[capacity];
+	}
+
+	/**
+	 * Queues a spawn request. Returns false if the buffer is full.
+	 */
+	public boolean add(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ, final int argb) {
+		if (this.count == this.posX.length)
+			return false;
+		final int idx = this.count++;
+		this.posX[idx] = x;
+		this.posY[idx] = y;
+		this.posZ[idx] = z;
+		this.motionX[idx] = dX;
+		this.motionY[idx] = dY;
+		this.motionZ[idx] = dZ;
+		this.color[idx] = argb;
+		return true;
+	}
+
+	public boolean isFull() {
+		return this.count == this.posX.length;
+	}
+
+	public int size() {
+		return this.count;
+	}
+
+	public void clear() {
+		this.count = 0;
+	}
+}
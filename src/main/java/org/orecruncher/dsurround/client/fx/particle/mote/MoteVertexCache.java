@@ -0,0 +1,240 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.client.fx.culling.ViewCuller;
+import org.orecruncher.lib.collections.ObjectArray;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Keeps the quads of a mote collection packed in the PARTICLE_POSITION_TEX_COLOR_LMAP
+ * vertex layout between frames. Each mote owns the slot matching its index in
+ * the collection and only motes that report a change get their slot rewritten.
+ * Positions are stored relative to an origin near the viewer so the buffer
+ * stays valid as the camera moves; the renderer translates by the origin when
+ * drawing. When a culler is given, the quads of motes that are out of view
+ * are left out of the buffer that is returned for drawing; they stay cached
+ * for when they come back into view. Nothing in here touches GL so the output
+ * can be compared directly.
+ */
+@SideOnly(Side.CLIENT)
+public final class MoteVertexCache {
+
+	// Position (3 floats), texture (2 floats), color (4 bytes), lightmap (2 shorts)
+	public static final int VERTEX_BYTES = 28;
+	public static final int QUAD_BYTES = VERTEX_BYTES * 4;
+
+	// How far the viewer can drift from the origin before float precision
+	// becomes a concern and the cache is rebased.
+	private static final double REBASE_DISTANCE_SQ = 128D * 128D;
+
+	private ByteBuffer data;
+	private ByteBuffer visible;
+	private int written;
+	private final ObjectArray<IParticleMote> survivors = new ObjectArray<>();
+
+	private double originX;
+	private double originY;
+	private double originZ;
+	private boolean hasOrigin;
+
+	private int bytesRewritten;
+
+	public MoteVertexCache() {
+		this(128);
+	}
+
+	public MoteVertexCache(final int initialQuads) {
+		this.data = allocate(initialQuads);
+	}
+
+	private static ByteBuffer allocate(final int quads) {
+		return ByteBuffer.allocate(quads * QUAD_BYTES).order(ByteOrder.nativeOrder());
+	}
+
+	public double getOriginX() {
+		return this.originX;
+	}
+
+	public double getOriginY() {
+		return this.originY;
+	}
+
+	public double getOriginZ() {
+		return this.originZ;
+	}
+
+	/**
+	 * Number of bytes that had to be rewritten during the last rebuild.
+	 */
+	public int getBytesRewritten() {
+		return this.bytesRewritten;
+	}
+
+	/**
+	 * Drops all cached geometry. Everything is rewritten on the next rebuild.
+	 */
+	public void invalidate() {
+		this.written = 0;
+	}
+
+	/**
+	 * Removes the motes selected by the filter and moves the slots of the
+	 * survivors so they stay lined up with the collection. Motes are visited
+	 * once each in index order and survivors keep their relative order.
+	 * ObjectArray.removeIf() cannot be used for this because it fills the hole
+	 * left by a removed mote with the last one in the array.
+	 *
+	 * @param motes  Motes of the collection the cache belongs to
+	 * @param filter Returns true for motes that are to be removed
+	 */
+	public void compact(@Nonnull final ObjectArray<IParticleMote> motes,
+			@Nonnull final Predicate<IParticleMote> filter) {
+		final ObjectArray<IParticleMote> survivors = this.survivors;
+		final byte[] array = this.data.array();
+		final int count = motes.size();
+		int write = 0;
+		int valid = 0;
+		for (int read = 0; read < count; read++) {
+			final IParticleMote mote = motes.get(read);
+			if (filter.test(mote))
+				continue;
+			if (read < this.written) {
+				if (read != write)
+					System.arraycopy(array, read * QUAD_BYTES, array, write * QUAD_BYTES, QUAD_BYTES);
+				valid++;
+			}
+			survivors.add(mote);
+			write++;
+		}
+
+		if (write != count) {
+			motes.clear();
+			for (int i = 0; i < write; i++)
+				motes.add(survivors.get(i));
+		}
+		survivors.clear();
+		this.written = valid;
+	}
+
+	/**
+	 * Brings the cached quads up to date with the motes in the collection.
+	 *
+	 * @param culler Leaves out the quads of motes it culls, can be null
+	 * @return Buffer positioned at zero with the limit set to the end of the last
+	 *         quad
+	 */
+	@Nonnull
+	public ByteBuffer rebuild(@Nonnull final ObjectArray<IParticleMote> motes, final float partialTicks,
+			final double viewX, final double viewY, final double viewZ, @Nullable final ViewCuller culler) {
+
+		final double dX = viewX - this.originX;
+		final double dY = viewY - this.originY;
+		final double dZ = viewZ - this.originZ;
+		if (!this.hasOrigin || dX * dX + dY * dY + dZ * dZ > REBASE_DISTANCE_SQ) {
+			this.originX = Math.floor(viewX);
+			this.originY = Math.floor(viewY);
+			this.originZ = Math.floor(viewZ);
+			this.hasOrigin = true;
+			this.written = 0;
+		}
+
+		final int count = motes.size();
+		if (this.data.capacity() < count * QUAD_BYTES) {
+			final ByteBuffer newData = allocate(Math.max(count, this.data.capacity() / QUAD_BYTES * 2));
+			System.arraycopy(this.data.array(), 0, newData.array(), 0, this.written * QUAD_BYTES);
+			this.data = newData;
+		}
+
+		this.data.clear();
+		this.bytesRewritten = 0;
+		for (int i = 0; i < count; i++) {
+			final ICachedMote mote = (ICachedMote) motes.get(i);
+			if (mote.prepareRender(partialTicks) || i >= this.written) {
+				this.data.position(i * QUAD_BYTES);
+				mote.writeVertices(this, this.originX, this.originY, this.originZ);
+				this.bytesRewritten += QUAD_BYTES;
+			}
+		}
+		this.written = count;
+
+		this.data.position(0);
+		this.data.limit(count * QUAD_BYTES);
+		return culler == null ? this.data : cull(motes, culler);
+	}
+
+	/**
+	 * Copies the quads of the visible motes into a separate buffer. The copy is
+	 * only started once the first culled mote is found, so when everything is in
+	 * view the cached buffer is returned as is.
+	 */
+	@Nonnull
+	private ByteBuffer cull(@Nonnull final ObjectArray<IParticleMote> motes, @Nonnull final ViewCuller culler) {
+		final int count = motes.size();
+		final byte[] src = this.data.array();
+		byte[] dst = null;
+		int drawn = 0;
+		for (int i = 0; i < count; i++) {
+			if (motes.get(i).isVisible(culler)) {
+				if (dst != null)
+					System.arraycopy(src, i * QUAD_BYTES, dst, drawn * QUAD_BYTES, QUAD_BYTES);
+				drawn++;
+			} else if (dst == null) {
+				if (this.visible == null || this.visible.capacity() < this.data.capacity())
+					this.visible = allocate(this.data.capacity() / QUAD_BYTES);
+				dst = this.visible.array();
+				System.arraycopy(src, 0, dst, 0, drawn * QUAD_BYTES);
+			}
+		}
+
+		if (dst == null)
+			return this.data;
+
+		this.visible.clear();
+		this.visible.limit(drawn * QUAD_BYTES);
+		return this.visible;
+	}
+
+	/**
+	 * Writes a vertex at the current position in the buffer. Only to be called
+	 * from ICachedMote.writeVertices().
+	 */
+	public void vertex(final float x, final float y, final float z, final float u, final float v, final int red,
+			final int green, final int blue, final int alpha, final int skyLight, final int blockLight) {
+		this.data.putFloat(x).putFloat(y).putFloat(z);
+		this.data.putFloat(u).putFloat(v);
+		this.data.put((byte) red).put((byte) green).put((byte) blue).put((byte) alpha);
+		this.data.putShort((short) blockLight).putShort((short) skyLight);
+	}
+}
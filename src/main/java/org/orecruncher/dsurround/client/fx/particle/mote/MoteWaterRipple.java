@@ -24,6 +24,9 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.registry.biome.BiomeUtil;
 import org.orecruncher.lib.Color;
 
@@ -34,20 +37,51 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class MoteWaterRipple extends MoteAgeable {
+public class MoteWaterRipple extends MoteAgeable implements ICachedMote {
 
 	private static final float TEX_SIZE_HALF = 0.5F;
 
-	protected final float growthRate;
+	private static final MotePool<MoteWaterRipple> POOL = new MotePool<>("Ripples", 1024);
+
+	protected float growthRate;
 	protected float scale;
 	protected float scaledWidth;
 
 	protected float texU1, texU2;
 	protected float texV1, texV2;
 
+	protected int spawnTick;
+	protected int renderedAge = -1;
+
+	/**
+	 * Obtains a ripple mote, reusing a dead one from the pool if possible.
+	 */
+	@Nonnull
+	public static MoteWaterRipple create(@Nonnull final World world, final double x, final double y,
+			final double z) {
+		final MoteWaterRipple mote = POOL.acquire();
+		if (mote == null)
+			return new MoteWaterRipple(world, x, y, z);
+		mote.reset(world, x, y, z);
+		return mote;
+	}
+
+	@Nonnull
+	public static MotePool<MoteWaterRipple> pool() {
+		return POOL;
+	}
+
 	public MoteWaterRipple(final World world, final double x, final double y, final double z) {
 		super(world, x, y, z);
+		init();
+	}
 
+	public void reset(@Nonnull final World world, final double x, final double y, final double z) {
+		resetAgeable(world, x, y, z);
+		init();
+	}
+
+	private void init() {
 		final RippleStyle style = RippleStyle.get();
 
 		this.maxAge = style.getMaxAge();
@@ -64,7 +98,7 @@ public class MoteWaterRipple extends MoteAgeable {
 
 		this.posY -= 0.2D;
 
-		final Color waterColor = BiomeUtil.getColorForLiquid(world, this.position);
+		final Color waterColor = BiomeUtil.getColorForLiquid(this.world, this.position);
 		this.red = (int) (waterColor.red * 255);
 		this.green = (int) (waterColor.green * 255);
 		this.blue = (int) (waterColor.blue * 255);
@@ -73,17 +107,46 @@ public class MoteWaterRipple extends MoteAgeable {
 		this.texU2 = style.getU2(this.age);
 		this.texV1 = style.getV1(this.age);
 		this.texV2 = style.getV2(this.age);
+
+		this.spawnTick = EnvironState.getTickCounter();
+		this.renderedAge = -1;
+	}
+
+	@Override
+	public void release() {
+		POOL.release(this);
+	}
+
+	/**
+	 * Tick on which the ripple is to be killed. It lives through the tick on
+	 * which it reaches its maximum age.
+	 */
+	public int getExpiryTick() {
+		return this.spawnTick + this.maxAge + 1;
 	}
 
 	@Override
-	public void update() {
+	public void onUpdate() {
+		// Ripples are not ticked - their state is derived from age in refresh()
+	}
+
+	/**
+	 * Works out the look of the ripple for its current age. Returns false if the
+	 * age has not changed since the last refresh.
+	 */
+	protected boolean refresh() {
+		final int currentAge = EnvironState.getTickCounter() - this.spawnTick;
+		if (currentAge == this.renderedAge)
+			return false;
+		this.renderedAge = this.age = currentAge;
+
 		final RippleStyle style = RippleStyle.get();
 		if (style.doScaling()) {
-			this.scale += this.growthRate;
+			this.scale = this.growthRate * (this.age + 1);
 			this.scaledWidth = this.scale * TEX_SIZE_HALF;
 		}
 
-		if (style.doAlpha()) {
+		if (style.doAlpha() && this.age > 0) {
 			this.alpha = (int) ((float) (this.maxAge - this.age) / (float) (this.maxAge + 3) * 255);
 		}
 
@@ -91,12 +154,39 @@ public class MoteWaterRipple extends MoteAgeable {
 		this.texU2 = style.getU2(this.age);
 		this.texV1 = style.getV1(this.age);
 		this.texV2 = style.getV2(this.age);
+
+		updateBrightness();
+		return true;
+	}
+
+	@Override
+	public boolean prepareRender(final float partialTicks) {
+		return refresh();
+	}
+
+	@Override
+	public void writeVertices(@Nonnull final MoteVertexCache cache, final double originX, final double originY,
+			final double originZ) {
+		final float x = (float) (this.posX - originX);
+		final float y = (float) (this.posY - originY);
+		final float z = (float) (this.posZ - originZ);
+
+		cache.vertex(-this.scaledWidth + x, y, this.scaledWidth + z, this.texU2, this.texV2, this.red, this.green,
+				this.blue, this.alpha, this.slX16, this.blX16);
+		cache.vertex(this.scaledWidth + x, y, this.scaledWidth + z, this.texU2, this.texV1, this.red, this.green,
+				this.blue, this.alpha, this.slX16, this.blX16);
+		cache.vertex(this.scaledWidth + x, y, -this.scaledWidth + z, this.texU1, this.texV1, this.red, this.green,
+				this.blue, this.alpha, this.slX16, this.blX16);
+		cache.vertex(-this.scaledWidth + x, y, -this.scaledWidth + z, this.texU1, this.texV2, this.red, this.green,
+				this.blue, this.alpha, this.slX16, this.blX16);
 	}
 
 	@Override
 	public void renderParticle(BufferBuilder buffer, Entity entityIn, float partialTicks, float rotationX,
 			float rotationZ, float rotationYZ, float rotationXY, float rotationXZ) {
 
+		refresh();
+
 		final float x = renderX(partialTicks);
 		final float y = renderY(partialTicks);
 		final float z = renderZ(partialTicks);
@@ -24,11 +24,15 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
+import java.nio.ByteBuffer;
 import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.lwjgl.opengl.GL11;
+import org.orecruncher.dsurround.client.fx.culling.ParticleCulling;
+import org.orecruncher.dsurround.client.fx.culling.ViewCuller;
 import org.orecruncher.dsurround.client.fx.particle.ParticleBase;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
@@ -50,11 +54,25 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 public class ParticleCollection extends ParticleBase {
 
 	/**
-	 * Predicate used to update a mote and return whether it is dead or not.
+	 * Predicate used to update a mote and return whether it is dead or not. Dead
+	 * motes are released back to their pool.
 	 */
 	private static final Predicate<IParticleMote> UPDATE_REMOVE = mote -> {
 		mote.onUpdate();
-		return !mote.isAlive();
+		if (mote.isAlive())
+			return false;
+		mote.release();
+		return true;
+	};
+
+	/**
+	 * Predicate used to remove dead motes without updating them.
+	 */
+	private static final Predicate<IParticleMote> REMOVE_DEAD = mote -> {
+		if (mote.isAlive())
+			return false;
+		mote.release();
+		return true;
 	};
 
 	protected static final int MAX_PARTICLES = 4000;
@@ -67,6 +85,10 @@ public class ParticleCollection extends ParticleBase {
 	protected int lastTickUpdate;
 	protected OpenGlState glState;
 
+	// Set by collections whose motes implement ICachedMote
+	@Nullable
+	protected MoteVertexCache vertexCache;
+
 	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
 		super(world, 0, 0, 0);
 
@@ -108,14 +130,35 @@ public class ParticleCollection extends ParticleBase {
 
 		this.lastTickUpdate = EnvironState.getTickCounter();
 
-		// Update state and remove the dead ones
-		this.myParticles.removeIf(UPDATE_REMOVE);
+		updateParticles();
 
 		if (shouldDie()) {
 			setExpired();
 		}
 	}
 
+	/**
+	 * Advances the state of the motes in the collection one tick and removes
+	 * the ones that died.
+	 */
+	protected void updateParticles() {
+		if (this.vertexCache == null)
+			this.myParticles.removeIf(UPDATE_REMOVE);
+		else
+			this.vertexCache.compact(this.myParticles, UPDATE_REMOVE);
+	}
+
+	/**
+	 * Removes motes that have died without advancing the state of the others.
+	 * Used by collections whose motes are killed from the outside.
+	 */
+	protected void removeDead() {
+		if (this.vertexCache == null)
+			this.myParticles.removeIf(REMOVE_DEAD);
+		else
+			this.vertexCache.compact(this.myParticles, REMOVE_DEAD);
+	}
+
 	@Nonnull
 	protected VertexFormat getVertexFormat() {
 		return DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP;
@@ -131,14 +174,38 @@ public class ParticleCollection extends ParticleBase {
 		bindTexture(this.texture);
 		preRender();
 
-		buffer.begin(GL11.GL_QUADS, getVertexFormat());
-		for (int i = 0; i < this.myParticles.size(); i++)
-			this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
-		Tessellator.getInstance().draw();
+		final ViewCuller culler = ParticleCulling.motes(partialTicks);
+		if (this.vertexCache != null) {
+			final ByteBuffer data = this.vertexCache.rebuild(this.myParticles, partialTicks, interpX(), interpY(),
+					interpZ(), culler);
+			GlStateManager.pushMatrix();
+			GlStateManager.translate(this.vertexCache.getOriginX() - interpX(),
+					this.vertexCache.getOriginY() - interpY(), this.vertexCache.getOriginZ() - interpZ());
+			buffer.begin(GL11.GL_QUADS, getVertexFormat());
+			buffer.putBulkData(data);
+			Tessellator.getInstance().draw();
+			GlStateManager.popMatrix();
+		} else {
+			buffer.begin(GL11.GL_QUADS, getVertexFormat());
+			for (int i = 0; i < this.myParticles.size(); i++) {
+				final IParticleMote mote = this.myParticles.get(i);
+				if (mote.isVisible(culler))
+					mote.renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
+			}
+			Tessellator.getInstance().draw();
+		}
 
 		postRender();
 	}
 
+	/**
+	 * Used for diagnostics. Returns the number of vertex bytes that were rewritten
+	 * during the last frame, or -1 if the collection does not cache vertices.
+	 */
+	public int getBytesRewritten() {
+		return this.vertexCache != null ? this.vertexCache.getBytesRewritten() : -1;
+	}
+
 	protected boolean enableLighting() {
 		return ModEnvironment.Albedo.isLoaded();
 	}
@@ -39,6 +39,7 @@ public class ParticleCollectionFootprint extends ParticleCollection {
 
 	public ParticleCollectionFootprint(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
 		super(world, tex);
+		this.vertexCache = new MoteVertexCache();
 	}
 
 	@Override
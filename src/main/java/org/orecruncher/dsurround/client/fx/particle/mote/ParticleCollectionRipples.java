@@ -26,6 +26,7 @@ package org.orecruncher.dsurround.client.fx.particle.mote;
 
 import javax.annotation.Nonnull;
 
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.gfx.OpenGlUtil;
 
 import net.minecraft.client.renderer.GlStateManager;
@@ -37,8 +38,31 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleCollectionRipples extends ParticleCollection {
 
+	protected final MoteExpiryRing expiry;
+
 	public ParticleCollectionRipples(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
 		super(world, tex);
+		this.vertexCache = new MoteVertexCache();
+		this.expiry = new MoteExpiryRing(32, EnvironState.getTickCounter());
+	}
+
+	@Override
+	public boolean addParticle(@Nonnull final IParticleMote mote) {
+		if (super.addParticle(mote)) {
+			this.expiry.add(mote, ((MoteWaterRipple) mote).getExpiryTick());
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Ripples are not ticked. Their look is worked out from their age when they
+	 * are rendered and they are killed in bulk by the expiry ring.
+	 */
+	@Override
+	protected void updateParticles() {
+		if (this.expiry.expire(EnvironState.getTickCounter()) > 0)
+			removeDead();
 	}
 
 	@Override
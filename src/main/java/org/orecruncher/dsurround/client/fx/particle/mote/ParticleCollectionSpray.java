@@ -0,0 +1,329 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.lwjgl.opengl.GL11;
+import org.orecruncher.dsurround.client.fx.LightSampler;
+import org.orecruncher.dsurround.client.fx.culling.ParticleCulling;
+import org.orecruncher.dsurround.client.fx.culling.ViewCuller;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Collection for water spray and rain splash motes. Heavy rain fills this
+ * collection to the brim so rather than carrying an object per mote the state
+ * is held in parallel primitive arrays and updated in a single tight loop. Dead
+ * motes are removed by moving the last mote into their slot.
+ */
+@SideOnly(Side.CLIENT)
+public class ParticleCollectionSpray extends ParticleCollection {
+
+	protected static final Random RANDOM = XorShiftRandom.current();
+
+	private static final double GRAVITY = 0.06D;
+	private static final double DRAG = 0.9800000190734863D;
+	private static final int WHITE = 0xFFFFFFFF;
+
+	protected final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	protected int count;
+	protected double[] posX;
+	protected double[] posY;
+	protected double[] posZ;
+	protected double[] prevX;
+	protected double[] prevY;
+	protected double[] prevZ;
+	protected double[] motionX;
+	protected double[] motionY;
+	protected double[] motionZ;
+	protected int[] age;
+	protected int[] maxAge;
+	protected int[] color;
+	protected int[] light;
+	protected float[] size;
+	protected byte[] frame;
+
+	public ParticleCollectionSpray(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
+		super(world, tex);
+		allocate(ALLOCATION_SIZE);
+	}
+
+	protected void allocate(final int capacity) {
+		this.posX = this.posX == null ? new double[capacity] : Arrays.copyOf(this.posX, capacity);
+		this.posY = this.posY == null ? new double[capacity] : Arrays.copyOf(this.posY, capacity);
+		this.posZ = this.posZ == null ? new double[capacity] : Arrays.copyOf(this.posZ, capacity);
+		this.prevX = this.prevX == null ? new double[capacity] : Arrays.copyOf(this.prevX, capacity);
+		this.prevY = this.prevY == null ? new double[capacity] : Arrays.copyOf(this.prevY, capacity);
+		this.prevZ = this.prevZ == null ? new double[capacity] : Arrays.copyOf(this.prevZ, capacity);
+		this.motionX = this.motionX == null ? new double[capacity] : Arrays.copyOf(this.motionX, capacity);
+		this.motionY = this.motionY == null ? new double[capacity] : Arrays.copyOf(this.motionY, capacity);
+		this.motionZ = this.motionZ == null ? new double[capacity] : Arrays.copyOf(this.motionZ, capacity);
+		this.age = this.age == null ? new int[capacity] : Arrays.copyOf(this.age, capacity);
+		this.maxAge = this.maxAge == null ? new int[capacity] : Arrays.copyOf(this.maxAge, capacity);
+		this.color = this.color == null ? new int[capacity] : Arrays.copyOf(this.color, capacity);
+		this.light = this.light == null ? new int[capacity] : Arrays.copyOf(this.light, capacity);
+		this.size = this.size == null ? new float[capacity] : Arrays.copyOf(this.size, capacity);
+		this.frame = this.frame == null ? new byte[capacity] : Arrays.copyOf(this.frame, capacity);
+	}
+
+	@Override
+	public boolean canFit() {
+		return this.count < MAX_PARTICLES;
+	}
+
+	/**
+	 * Spray state is held in the arrays rather than in mote objects so a mote
+	 * handed in from the outside is refused. Use addSpray() or addRainSplash().
+	 */
+	@Override
+	public boolean addParticle(@Nonnull final IParticleMote mote) {
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return this.count;
+	}
+
+	/**
+	 * Adds a spray mote with the given motion. The color is taken from the liquid
+	 * at the spawn location.
+	 */
+	public boolean addSpray(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ) {
+		final int idx = spawn(x, y, z);
+		if (idx < 0)
+			return false;
+		this.motionX[idx] = dX;
+		this.motionY[idx] = dY;
+		this.motionZ[idx] = dZ;
+		final Color waterColor = BiomeUtil.getColorForLiquid(this.world, this.mutable);
+		this.color[idx] = 0xFF000000 | (int) (waterColor.red * 255) << 16 | (int) (waterColor.green * 255) << 8
+				| (int) (waterColor.blue * 255);
+		return true;
+	}
+
+	/**
+	 * Adds all of the sprays queued in the buffer. The color for each request was
+	 * determined by the emitter. Returns the number that were added, which is
+	 * less than requested if the collection filled up.
+	 */
+	public int addSprays(@Nonnull final MoteSpawnBuffer buffer) {
+		int added = 0;
+		for (; added < buffer.count; added++) {
+			final int idx = spawn(buffer.posX[added], buffer.posY[added], buffer.posZ[added]);
+			if (idx < 0)
+				break;
+			this.motionX[idx] = buffer.motionX[added];
+			this.motionY[idx] = buffer.motionY[added];
+			this.motionZ[idx] = buffer.motionZ[added];
+			this.color[idx] = buffer.color[added];
+		}
+		return added;
+	}
+
+	/**
+	 * Adds a rain splash mote. Splashes are white and get a small random kick
+	 * that is mostly upward.
+	 */
+	public boolean addRainSplash(final double x, final double y, final double z) {
+		final int idx = spawn(x, y, z);
+		if (idx < 0)
+			return false;
+
+		double mX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double mY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double mZ = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		final float f = (float) (RANDOM.nextDouble() + RANDOM.nextDouble() + 1.0D) * 0.15F;
+		final float f1 = MathHelper.sqrt(mX * mX + mY * mY + mZ * mZ);
+		mX = mX / f1 * f * 0.4000000059604645D;
+		mZ = mZ / f1 * f * 0.4000000059604645D;
+
+		this.motionX[idx] = mX * 0.30000001192092896D;
+		this.motionY[idx] = RANDOM.nextDouble() * 0.20000000298023224D + 0.10000000149011612D;
+		this.motionZ[idx] = mZ * 0.30000001192092896D;
+		this.color[idx] = WHITE;
+		return true;
+	}
+
+	/**
+	 * Claims the next free slot and initializes the state common to all spray
+	 * motes. Returns -1 if the collection is full.
+	 */
+	protected int spawn(final double x, final double y, final double z) {
+		if (!canFit())
+			return -1;
+
+		if (this.count == this.posX.length)
+			allocate(Math.min(MAX_PARTICLES, this.posX.length * 2));
+
+		final int idx = this.count++;
+		this.posX[idx] = this.prevX[idx] = x;
+		this.posY[idx] = this.prevY[idx] = y;
+		this.posZ[idx] = this.prevZ[idx] = z;
+		this.age[idx] = 0;
+		this.maxAge[idx] = (int) (8.0F / (RANDOM.nextFloat() * 0.8F + 0.2F));
+		// Tweak the constant to change the size of the raindrop
+		this.size[idx] = 0.07F * (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F;
+		this.frame[idx] = (byte) RANDOM.nextInt(4);
+
+		this.mutable.setPos(x, y, z);
+		this.light[idx] = LightSampler.getCombinedLight(this.mutable);
+		return idx;
+	}
+
+	@Override
+	protected void updateParticles() {
+		final ClientChunkCache blocks = ClientChunkCache.instance();
+
+		int i = 0;
+		while (i < this.count) {
+			if (this.age[i]++ >= this.maxAge[i]) {
+				remove(i);
+				continue;
+			}
+
+			this.prevX[i] = this.posX[i];
+			this.prevY[i] = this.posY[i];
+			this.prevZ[i] = this.posZ[i];
+			this.motionY[i] -= GRAVITY;
+			this.posX[i] += this.motionX[i];
+			this.posY[i] += this.motionY[i];
+			this.posZ[i] += this.motionZ[i];
+
+			this.mutable.setPos(this.posX[i], this.posY[i], this.posZ[i]);
+			if (blocks.getBlockState(this.mutable).getMaterial().isSolid()) {
+				remove(i);
+				continue;
+			}
+
+			this.motionX[i] *= DRAG;
+			this.motionY[i] *= DRAG;
+			this.motionZ[i] *= DRAG;
+			this.light[i] = LightSampler.getCombinedLight(this.mutable);
+			i++;
+		}
+	}
+
+	/**
+	 * Removes the mote at the specified index by moving the last mote in the
+	 * collection into its slot.
+	 */
+	protected void remove(final int idx) {
+		final int last = --this.count;
+		if (idx == last)
+			return;
+		this.posX[idx] = this.posX[last];
+		this.posY[idx] = this.posY[last];
+		this.posZ[idx] = this.posZ[last];
+		this.prevX[idx] = this.prevX[last];
+		this.prevY[idx] = this.prevY[last];
+		this.prevZ[idx] = this.prevZ[last];
+		this.motionX[idx] = this.motionX[last];
+		this.motionY[idx] = this.motionY[last];
+		this.motionZ[idx] = this.motionZ[last];
+		this.age[idx] = this.age[last];
+		this.maxAge[idx] = this.maxAge[last];
+		this.color[idx] = this.color[last];
+		this.light[idx] = this.light[last];
+		this.size[idx] = this.size[last];
+		this.frame[idx] = this.frame[last];
+	}
+
+	@Override
+	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		if (this.count == 0)
+			return;
+
+		bindTexture(this.texture);
+		preRender();
+
+		final double viewX = interpX();
+		final double viewY = interpY();
+		final double viewZ = interpZ();
+		final ViewCuller culler = ParticleCulling.motes(partialTicks);
+
+		buffer.begin(GL11.GL_QUADS, getVertexFormat());
+		for (int i = 0; i < this.count; i++) {
+			if (culler.classify(this.posX[i], this.posY[i], this.posZ[i]) == ViewCuller.CULLED)
+				continue;
+
+			final double x = this.prevX[i] + (this.posX[i] - this.prevX[i]) * partialTicks - viewX;
+			final double y = this.prevY[i] + (this.posY[i] - this.prevY[i]) * partialTicks - viewY;
+			final double z = this.prevZ[i] + (this.posZ[i] - this.prevZ[i]) * partialTicks - viewZ;
+			final float f4 = this.size[i];
+
+			final int tex = this.frame[i];
+			final float u1 = (tex % 2) * 0.5F;
+			final float u2 = u1 + 0.5F;
+			final float v1 = (tex / 2) * 0.5F;
+			final float v2 = v1 + 0.5F;
+
+			final int rgba = this.color[i];
+			final int r = (rgba >> 16) & 0xFF;
+			final int g = (rgba >> 8) & 0xFF;
+			final int b = rgba & 0xFF;
+			final int a = (rgba >>> 24) & 0xFF;
+			final int sl = (this.light[i] >> 16) & 65535;
+			final int bl = this.light[i] & 65535;
+
+			buffer.pos(x + (-rotX * f4 - rotXY * f4), y + (-rotZ * f4), z + (-rotYZ * f4 - rotXZ * f4)).tex(u2, v2)
+					.color(r, g, b, a).lightmap(sl, bl).endVertex();
+			buffer.pos(x + (-rotX * f4 + rotXY * f4), y + (rotZ * f4), z + (-rotYZ * f4 + rotXZ * f4)).tex(u2, v1)
+					.color(r, g, b, a).lightmap(sl, bl).endVertex();
+			buffer.pos(x + (rotX * f4 + rotXY * f4), y + (rotZ * f4), z + (rotYZ * f4 + rotXZ * f4)).tex(u1, v1)
+					.color(r, g, b, a).lightmap(sl, bl).endVertex();
+			buffer.pos(x + (rotX * f4 - rotXY * f4), y + (-rotZ * f4), z + (rotYZ * f4 - rotXZ * f4)).tex(u1, v2)
+					.color(r, g, b, a).lightmap(sl, bl).endVertex();
+		}
+		Tessellator.getInstance().draw();
+
+		postRender();
+	}
+
+	public static final ICollectionFactory FACTORY = (world, texture) -> {
+		return new ParticleCollectionSpray(world, texture);
+	};
+
+}
@@ -0,0 +1,228 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.system;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.fx.ParticleBudget;
+import org.orecruncher.dsurround.client.fx.ParticleCollections;
+import org.orecruncher.dsurround.client.fx.particle.mote.MoteSpawnBuffer;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Shared emission support for the jets. The water splash jets do not emit on
+ * their own. Their position, strength, and phase are held in parallel arrays
+ * here and all of them are run in one pass once the ParticleSystemHandler has
+ * ticked the systems. The sprays produced go into one buffer that is then
+ * handed to the spray collection in one go.
+ */
+@SideOnly(Side.CLIENT)
+public final class JetEmitterKernel {
+
+	private static final Random RANDOM = XorShiftRandom.current();
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private static final MoteSpawnBuffer sprays = new MoteSpawnBuffer(2048);
+
+	// Active water splash jets. Slots are kept dense; a released slot is
+	// filled with the last jet.
+	private static ParticleWaterSplash[] splashOwner = new ParticleWaterSplash[64];
+	private static double[] splashX = new double[64];
+	private static double[] splashY = new double[64];
+	private static double[] splashZ = new double[64];
+	private static int[] splashStrength = new int[64];
+	private static int[] splashLimit = new int[64];
+	private static int[] splashPhase = new int[64];
+	private static int[] splashColor = new int[64];
+	private static int splashCount;
+
+	private JetEmitterKernel() {
+
+	}
+
+	/**
+	 * Color of water sprays at the specified location, in the form expected by
+	 * emitSpray().
+	 */
+	public static int sprayColor(@Nonnull final World world, @Nonnull final BlockPos pos) {
+		final Color waterColor = BiomeUtil.getColorForLiquid(world, pos);
+		return 0xFF000000 | (int) (waterColor.red * 255) << 16 | (int) (waterColor.green * 255) << 8
+				| (int) (waterColor.blue * 255);
+	}
+
+	/**
+	 * Queues a water spray. Returns false if no more sprays can be taken this
+	 * tick, in which case the jet should stop emitting.
+	 */
+	public static boolean emitSpray(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ, final int color) {
+		if (sprays.isFull())
+			return false;
+		if (!ParticleBudget.trySpawn(ParticleBudget.Subsystem.MOTES, x, y, z))
+			return true;
+		return sprays.add(x, y, z, dX, dY, dZ, color);
+	}
+
+	/**
+	 * Indicates if there is room for more sprays this tick.
+	 */
+	public static boolean canEmitSpray() {
+		return !sprays.isFull() && ParticleCollections.canFitWaterSpray();
+	}
+
+	/**
+	 * Adds a water splash jet to the batch. Returns the slot it occupies.
+	 */
+	static int registerSplash(@Nonnull final ParticleWaterSplash jet, final int color) {
+		if (splashCount == splashOwner.length) {
+			final int size = splashCount * 2;
+			splashOwner = Arrays.copyOf(splashOwner, size);
+			splashX = Arrays.copyOf(splashX, size);
+			splashY = Arrays.copyOf(splashY, size);
+			splashZ = Arrays.copyOf(splashZ, size);
+			splashStrength = Arrays.copyOf(splashStrength, size);
+			splashLimit = Arrays.copyOf(splashLimit, size);
+			splashPhase = Arrays.copyOf(splashPhase, size);
+			splashColor = Arrays.copyOf(splashColor, size);
+		}
+		final int slot = splashCount++;
+		splashOwner[slot] = jet;
+		splashX[slot] = jet.posX;
+		splashY[slot] = jet.posY;
+		splashZ[slot] = jet.posZ;
+		splashStrength[slot] = jet.jetStrength;
+		splashLimit[slot] = jet.particleLimit;
+		splashPhase[slot] = 0;
+		splashColor[slot] = color;
+		return slot;
+	}
+
+	static void setSplashLimit(final int slot, final int limit) {
+		splashLimit[slot] = limit;
+	}
+
+	/**
+	 * Removes a water splash jet from the batch. The last jet is moved into the
+	 * freed slot.
+	 */
+	static void releaseSplash(@Nonnull final ParticleWaterSplash jet) {
+		final int slot = jet.slot;
+		jet.slot = -1;
+		if (slot < 0 || slot >= splashCount || splashOwner[slot] != jet)
+			return;
+		final int last = --splashCount;
+		if (slot != last) {
+			final ParticleWaterSplash moved = splashOwner[last];
+			splashOwner[slot] = moved;
+			splashX[slot] = splashX[last];
+			splashY[slot] = splashY[last];
+			splashZ[slot] = splashZ[last];
+			splashStrength[slot] = splashStrength[last];
+			splashLimit[slot] = splashLimit[last];
+			splashPhase[slot] = splashPhase[last];
+			splashColor[slot] = splashColor[last];
+			moved.slot = slot;
+		}
+		splashOwner[last] = null;
+	}
+
+	/**
+	 * Advances the phase of every water splash jet and has the ones that are
+	 * due emit a burst of sprays.
+	 */
+	private static void updateSplashJets() {
+		final int particleSetting = Minecraft.getMinecraft().gameSettings.particleSetting;
+		if (particleSetting == 2) {
+			// Nothing is emitted but the jets still keep time
+			for (int i = 0; i < splashCount; i++)
+				splashPhase[i] = (splashPhase[i] + 1) % ParticleWaterSplash.UPDATE_FREQUENCY;
+			return;
+		}
+
+		boolean open = canEmitSpray();
+		final ClientChunkCache blocks = ClientChunkCache.instance();
+		for (int i = 0; i < splashCount; i++) {
+			final int phase = splashPhase[i];
+			splashPhase[i] = (phase + 1) % ParticleWaterSplash.UPDATE_FREQUENCY;
+			if (phase != 0 || !open)
+				continue;
+
+			final double x = splashX[i];
+			final double y = splashY[i];
+			final double z = splashZ[i];
+			final int color = splashColor[i];
+			final double scale = (splashStrength[i] + 3) / 20.0D;
+			final int burst = particleSetting == 0 ? splashLimit[i] : splashLimit[i] / 2;
+
+			for (int j = 0; j < burst; j++) {
+				final double xOffset = (RANDOM.nextFloat() * 2.0F - 1.0F);
+				final double zOffset = (RANDOM.nextFloat() * 2.0F - 1.0F);
+
+				if (blocks.getBlockState(mutable.setPos(x + xOffset, y, z + zOffset)).getMaterial().isSolid())
+					continue;
+
+				final double motionY = 0.1D + RANDOM.nextFloat() * scale;
+				// If we could not add the buffer is full. No sense beating a dead horse.
+				if (!emitSpray(x + xOffset, y, z + zOffset, xOffset * scale, motionY, zOffset * scale, color)) {
+					open = false;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs the batched jets and hands the queued requests to the particle
+	 * collections.
+	 */
+	public static void flush() {
+		updateSplashJets();
+		if (sprays.size() > 0) {
+			ParticleCollections.addWaterSprays(sprays);
+			sprays.clear();
+		}
+	}
+
+	public static void clear() {
+		sprays.clear();
+		for (int i = 0; i < splashCount; i++) {
+			splashOwner[i].slot = -1;
+			splashOwner[i] = null;
+		}
+		splashCount = 0;
+	}
+}
@@ -25,14 +25,11 @@
 package org.orecruncher.dsurround.client.fx.particle.system;
 
 import org.orecruncher.dsurround.ModOptions;
-import org.orecruncher.dsurround.client.fx.ParticleCollections;
 import org.orecruncher.dsurround.client.fx.WaterSplashJetEffect;
-import org.orecruncher.dsurround.client.fx.particle.mote.IParticleMote;
 import org.orecruncher.dsurround.client.sound.PositionedEmitter;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
 import org.orecruncher.dsurround.client.sound.Sounds;
 import org.orecruncher.lib.WorldUtils;
-import org.orecruncher.lib.chunk.ClientChunkCache;
 import org.orecruncher.lib.math.MathStuff;
 
 import net.minecraft.util.math.BlockPos;
@@ -58,32 +55,28 @@ public class ParticleWaterSplash extends ParticleJet {
 		fallSounds[10] = Sounds.WATERFALL5;
 	}
 
+	static final int UPDATE_FREQUENCY = 4;
+
 	private static final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
 	private final BlockPos location;
 	private PositionedEmitter emitter;
 	protected int particleLimit;
 
+	// Slot held in the JetEmitterKernel splash batch, -1 if not in it
+	int slot = -1;
+
 	public ParticleWaterSplash(final int strength, final World world, final BlockPos loc, final double x,
 			final double y, final double z) {
-		super(0, strength, world, x, y, z, 4);
+		super(0, strength, world, x, y, z, UPDATE_FREQUENCY);
 		this.location = loc.toImmutable();
 		setSpawnCount((int) (strength * 2.5F));
 	}
 
 	public void setSpawnCount(final int limit) {
 		this.particleLimit = MathStuff.clamp(limit, 5, 20);
-	}
-
-	public int getSpawnCount() {
-		switch (SETTINGS.particleSetting) {
-		case 2:
-			return 0;
-		case 0:
-			return this.particleLimit;
-		default:
-			return this.particleLimit / 2;
-		}
+		if (this.slot >= 0)
+			JetEmitterKernel.setSplashLimit(this.slot, this.particleLimit);
 	}
 
 	@Override
@@ -115,35 +108,25 @@ public class ParticleWaterSplash extends ParticleJet {
 		if (this.emitter != null)
 			this.emitter.stop();
 		this.emitter = null;
+		JetEmitterKernel.releaseSplash(this);
 		super.cleanUp();
 	}
 
-	// Entity.resetHeight()
+	/*
+	 * The sprays for all splash jets are emitted in one pass by the
+	 * JetEmitterKernel. All the jet does is join the batch and keep its age.
+	 */
+	@Override
+	public void think() {
+		if (this.slot < 0)
+			this.slot = JetEmitterKernel.registerSplash(this,
+					JetEmitterKernel.sprayColor(this.world, pos.setPos(this.posX, this.posY, this.posZ)));
+		this.particleAge++;
+	}
+
 	@Override
 	protected void spawnJetParticle() {
-		if (ParticleCollections.canFitWaterSpray()) {
-			final int splashCount = getSpawnCount();
-
-			for (int j = 0; (float) j < splashCount; ++j) {
-				final double xOffset = (RANDOM.nextFloat() * 2.0F - 1.0F);
-				final double zOffset = (RANDOM.nextFloat() * 2.0F - 1.0F);
-
-				if (ClientChunkCache.instance()
-						.getBlockState(pos.setPos(this.posX + xOffset, this.posY, this.posZ + zOffset)).getMaterial()
-						.isSolid())
-					continue;
-
-				final int motionStr = this.jetStrength + 3;
-				final double motionX = xOffset * (motionStr / 20.0D);
-				final double motionZ = zOffset * (motionStr / 20.0D);
-				final double motionY = 0.1D + RANDOM.nextFloat() * motionStr / 20.0D;
-				final IParticleMote particle = ParticleCollections.addWaterSpray(this.world, this.posX + xOffset,
-						(this.posY), this.posZ + zOffset, motionX, motionY, motionZ);
-				// If we could not add the collection is full. No sense beating a dead horse.
-				if (particle == null)
-					break;
-			}
-		}
+		// Done by the JetEmitterKernel
 	}
 
 }
@@ -65,7 +65,14 @@ public final class AuroraEffectHandler extends EffectHandlerBase {
 
 	@Override
 	public void onDisconnect() {
-		this.current = null;
+		release();
+	}
+
+	private void release() {
+		if (this.current != null) {
+			this.current.release();
+			this.current = null;
+		}
 	}
 
 	private boolean isAuroraTimeOfDay() {
@@ -96,7 +103,7 @@ public final class AuroraEffectHandler extends EffectHandlerBase {
 			// outright
 			if (this.current.isComplete() || this.dimensionId != EnvironState.getDimensionId()
 					|| !ModOptions.aurora.auroraEnable) {
-				this.current = null;
+				release();
 			} else {
 				this.current.update();
 				final boolean isDying = this.current.isDying();
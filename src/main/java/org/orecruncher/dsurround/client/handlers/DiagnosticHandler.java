@@ -91,6 +91,10 @@ public class DiagnosticHandler extends EffectHandlerBase {
 			this.diagnosticTimer = timer;
 	}
 
+	public void removeTimer(@Nonnull final TimerEMA timer) {
+		this.timers.remove(timer);
+	}
+
 	@Override
 	public void process(@Nonnull final EntityPlayer player) {
 		// Gather diagnostics if needed
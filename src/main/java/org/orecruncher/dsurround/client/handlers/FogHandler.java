@@ -57,6 +57,8 @@ import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -84,13 +86,24 @@ public class FogHandler extends EffectHandlerBase {
 			this.fogColor.tick();
 		}
 
-		this.timer.update(this.nanos);
+		// Calculator time is reported by the calculator timers
+		this.timer.update(this.nanos - this.fogRange.getTimers().getTotal() - this.fogColor.getTimers().getTotal());
 		this.nanos = 0;
+		this.fogRange.getTimers().update();
+		this.fogColor.getTimers().update();
 	}
 
 	protected HolisticFogColorCalculator fogColor = new HolisticFogColorCalculator();
 	protected HolisticFogRangeCalculator fogRange = new HolisticFogRangeCalculator();
 
+	@SubscribeEvent
+	public void onRenderTick(@Nonnull final TickEvent.RenderTickEvent event) {
+		if (event.phase == Phase.START) {
+			this.fogRange.nextFrame();
+			this.fogColor.nextFrame();
+		}
+	}
+
 	@SubscribeEvent(priority = EventPriority.HIGHEST)
 	public void fogColorEvent(final EntityViewRenderEvent.FogColors event) {
 		if (doFog()) {
@@ -156,6 +169,11 @@ public class FogHandler extends EffectHandlerBase {
 
 	protected void setupTheme(@Nonnull final World world, @Nonnull final EffectRegistry reg) {
 
+		final DiagnosticHandler diagnostics = (DiagnosticHandler) EffectManager.instance()
+				.lookupService(DiagnosticHandler.class);
+		this.fogRange.getTimers().forEach(diagnostics::removeTimer);
+		this.fogColor.getTimers().forEach(diagnostics::removeTimer);
+
 		this.theme = reg.setTheme(EffectRegistry.DEFAULT_THEME);
 		// this.theme = ClientRegistry.EFFECTS.setTheme(new
 		// ResourceLocation("dsurround:gloamwood"));
@@ -187,6 +205,9 @@ public class FogHandler extends EffectHandlerBase {
 		if (this.theme.doFixedFog())
 			this.fogRange
 					.add(new FixedFogRangeCalculator(this.theme.getMinFogDistance(), this.theme.getMaxFogDistance()));
+
+		this.fogRange.getTimers().forEach(diagnostics::addTimer);
+		this.fogColor.getTimers().forEach(diagnostics::addTimer);
 	}
 
 }
@@ -36,6 +36,7 @@ import org.orecruncher.dsurround.client.effects.EntityEffectLibrary;
 import org.orecruncher.dsurround.client.effects.EventEffectLibrary;
 import org.orecruncher.dsurround.client.effects.IParticleHelper;
 import org.orecruncher.dsurround.client.effects.ISoundHelper;
+import org.orecruncher.dsurround.client.footsteps.FootstepScheduler;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.client.handlers.effects.BreathEffect;
 import org.orecruncher.dsurround.client.handlers.effects.CraftingSoundEffect;
@@ -66,6 +67,8 @@ import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -158,7 +161,18 @@ public class FxHandler extends EffectHandlerBase {
 		this.nanos += (System.nanoTime() - start);
 	}
 
+	/**
+	 * Footstep generation is deferred to the end of the tick so that it can be
+	 * done within a time budget after all the entities have updated.
+	 */
+	@SubscribeEvent
+	public void tickEnd(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (event.phase == Phase.END)
+			FootstepScheduler.INSTANCE.process();
+	}
+
 	protected void clearHandlers() {
+		FootstepScheduler.INSTANCE.clear();
 		//@formatter:off
 		EnvironState.getWorld().getLoadedEntityList().stream()
 			.map(e -> CapabilityEntityFXData.getCapability(e))
@@ -192,11 +206,14 @@ public class FxHandler extends EffectHandlerBase {
 	public void onConnect() {
 		this.eventLibrary.register(new CraftingSoundEffect());
 		((DiagnosticHandler) EffectManager.instance().lookupService(DiagnosticHandler.class)).addTimer(this.compute);
+		((DiagnosticHandler) EffectManager.instance().lookupService(DiagnosticHandler.class))
+				.addTimer(FootstepScheduler.INSTANCE.getTimer());
 	}
 
 	@Override
 	public void onDisconnect() {
 		this.eventLibrary.cleanup();
+		FootstepScheduler.INSTANCE.clear();
 	}
 
 	@SubscribeEvent
@@ -209,6 +226,7 @@ public class FxHandler extends EffectHandlerBase {
 		final int count = EnvironState.getWorld().getEntitiesWithinAABBExcludingEntity(EnvironState.getPlayer(), box)
 				.size() + 1;
 		event.output.add("Effected Entities: " + count);
+		event.output.add(FootstepScheduler.INSTANCE.getDiagnostic());
 	}
 
 }
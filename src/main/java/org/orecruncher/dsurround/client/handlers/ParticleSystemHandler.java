@@ -27,22 +27,36 @@ package org.orecruncher.dsurround.client.handlers;
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.client.fx.particle.system.JetEmitterKernel;
 import org.orecruncher.dsurround.client.fx.particle.system.ParticleSystem;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.orecruncher.lib.BlockPosHelper;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Manages the particle systems (jets) that are active around the player.
+ * Systems are indexed by the chunk they are in so that the range check can be
+ * made once per chunk rather than once per system, and so that all the
+ * systems of a chunk can be dropped at once when the chunk goes out of range
+ * or is unloaded.
+ */
 @SideOnly(Side.CLIENT)
 public class ParticleSystemHandler extends EffectHandlerBase {
 
 	private static ParticleSystemHandler _instance = null;
 
-	private final Object2ObjectOpenHashMap<BlockPos, ParticleSystem> systems = new Object2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<ChunkSystems> chunks = new Long2ObjectOpenHashMap<>();
+	private int systemCount;
 
 	public ParticleSystemHandler() {
 		super("Particle Systems");
@@ -50,46 +64,131 @@ public class ParticleSystemHandler extends EffectHandlerBase {
 
 	@Override
 	public boolean doTick(final int tick) {
-		return !this.systems.isEmpty();
+		return !this.chunks.isEmpty();
 	}
 
 	@Override
 	public void process(@Nonnull final EntityPlayer player) {
-		final double range = ModOptions.effects.specialEffectRange;
-		final BlockPos min = EnvironState.getPlayerPosition().add(-range, -range, -range);
-		final BlockPos max = EnvironState.getPlayerPosition().add(range, range, range);
-
-		this.systems.object2ObjectEntrySet().removeIf(entry -> {
-			final ParticleSystem system = entry.getValue();
-			if (BlockPosHelper.notContains(system.getPos(), min, max)) {
-				system.setExpired();
-			} else {
-				system.onUpdate();
+		final int range = ModOptions.effects.specialEffectRange;
+		final BlockPos playerPos = EnvironState.getPlayerPosition();
+		final int minX = playerPos.getX() - range;
+		final int maxX = playerPos.getX() + range;
+		final int minY = playerPos.getY() - range;
+		final int maxY = playerPos.getY() + range;
+		final int minZ = playerPos.getZ() - range;
+		final int maxZ = playerPos.getZ() + range;
+
+		this.systemCount = 0;
+		this.chunks.long2ObjectEntrySet().removeIf(entry -> {
+			final ChunkSystems bucket = entry.getValue();
+			final int cMinX = bucket.chunkX << 4;
+			final int cMinZ = bucket.chunkZ << 4;
+			final int cMaxX = cMinX + 15;
+			final int cMaxZ = cMinZ + 15;
+
+			// Chunk left the range ring - drop everything in it
+			if (cMaxX < minX || cMinX > maxX || cMaxZ < minZ || cMinZ > maxZ) {
+				bucket.expireAll();
+				return true;
 			}
-			return !system.isAlive();
+
+			// If the chunk is entirely within the ring only the vertical range
+			// needs to be checked for the individual systems.
+			final boolean inside = cMinX >= minX && cMaxX <= maxX && cMinZ >= minZ && cMaxZ <= maxZ;
+			bucket.systems.values().removeIf(system -> {
+				final BlockPos pos = system.getPos();
+				if (pos.getY() < minY || pos.getY() > maxY || (!inside && (pos.getX() < minX || pos.getX() > maxX
+						|| pos.getZ() < minZ || pos.getZ() > maxZ))) {
+					system.setExpired();
+				} else {
+					system.onUpdate();
+				}
+				return !system.isAlive();
+			});
+
+			this.systemCount += bucket.systems.size();
+			return bucket.systems.isEmpty();
 		});
+
+		// Sprays queued by the jets go out as one batch
+		JetEmitterKernel.flush();
 	}
 
 	@Override
 	public void onConnect() {
 		_instance = this;
-		this.systems.clear();
+		clear();
 	}
 
 	@Override
 	public void onDisconnect() {
-		this.systems.clear();
+		clear();
 		_instance = null;
 	}
 
+	private void clear() {
+		this.chunks.clear();
+		JetEmitterKernel.clear();
+		this.systemCount = 0;
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(@Nonnull final ChunkEvent.Unload event) {
+		if (!event.getWorld().isRemote)
+			return;
+		final Chunk chunk = event.getChunk();
+		final ChunkSystems bucket = this.chunks.remove(ChunkPos.asLong(chunk.x, chunk.z));
+		if (bucket != null)
+			bucket.expireAll();
+	}
+
+	@SubscribeEvent
+	public void diagnostic(@Nonnull final DiagnosticEvent.Gather event) {
+		event.output.add(String.format("Particle Systems: %d in %d chunks", this.systemCount, this.chunks.size()));
+	}
+
 	// Determines if it is OK to spawn a particle system at the specified
 	// location. Generally only a single system can occupy a block.
 	public static boolean okToSpawn(@Nonnull final BlockPos pos) {
-		return !_instance.systems.containsKey(pos);
+		final ChunkSystems bucket = _instance.chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+		return bucket == null || !bucket.systems.containsKey(pos.toLong());
 	}
 
 	public static void addSystem(@Nonnull final ParticleSystem system) {
-		_instance.systems.put(system.getPos().toImmutable(), system);
+		final BlockPos pos = system.getPos();
+		final int chunkX = pos.getX() >> 4;
+		final int chunkZ = pos.getZ() >> 4;
+		final long key = ChunkPos.asLong(chunkX, chunkZ);
+		ChunkSystems bucket = _instance.chunks.get(key);
+		if (bucket == null) {
+			bucket = new ChunkSystems(chunkX, chunkZ);
+			_instance.chunks.put(key, bucket);
+		}
+		final ParticleSystem old = bucket.systems.put(pos.toLong(), system);
+		if (old != null && old != system)
+			old.setExpired();
+	}
+
+	/**
+	 * The particle systems that are active within a chunk, keyed by packed block
+	 * position.
+	 */
+	private static final class ChunkSystems {
+
+		final int chunkX;
+		final int chunkZ;
+		final Long2ObjectOpenHashMap<ParticleSystem> systems = new Long2ObjectOpenHashMap<>();
+
+		ChunkSystems(final int chunkX, final int chunkZ) {
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+		}
+
+		void expireAll() {
+			for (final Long2ObjectMap.Entry<ParticleSystem> e : this.systems.long2ObjectEntrySet())
+				e.getValue().setExpired();
+			this.systems.clear();
+		}
 	}
 
 }
@@ -28,11 +28,13 @@ import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.renderer.weather.PrecipitationBudget;
 import org.orecruncher.dsurround.client.sound.SoundInstance;
 import org.orecruncher.dsurround.client.sound.Sounds;
 import org.orecruncher.dsurround.client.weather.Weather;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
 import org.orecruncher.dsurround.event.ThunderEvent;
+import org.orecruncher.lib.math.TimerEMA;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
@@ -57,6 +59,10 @@ public class WeatherHandler extends EffectHandlerBase {
 	@Override
 	public void onConnect() {
 		this.timer = 0;
+		final DiagnosticHandler diagnostics = (DiagnosticHandler) EffectManager.instance()
+				.lookupService(DiagnosticHandler.class);
+		for (final TimerEMA t : PrecipitationBudget.getTimers())
+			diagnostics.addTimer(t);
 	}
 
 	@Override
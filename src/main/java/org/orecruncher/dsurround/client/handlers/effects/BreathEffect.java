@@ -33,6 +33,7 @@ import org.orecruncher.dsurround.client.effects.EntityEffect;
 import org.orecruncher.dsurround.client.effects.IEntityEffectFactory;
 import org.orecruncher.dsurround.client.effects.IEntityEffectFactoryFilter;
 import org.orecruncher.dsurround.client.effects.IEntityEffectHandlerState;
+import org.orecruncher.dsurround.client.fx.ParticleBudget;
 import org.orecruncher.dsurround.client.fx.particle.ParticleBubbleBreath;
 import org.orecruncher.dsurround.client.fx.particle.ParticleFrostBreath;
 import org.orecruncher.dsurround.registry.effect.EntityEffectInfo;
@@ -79,20 +80,21 @@ public class BreathEffect extends EntityEffect {
 				final int air = subject.getAir();
 				if (air > 0) {
 					final int interval = c % 3;
-					if (interval == 0) {
+					if (interval == 0 && ParticleBudget.trySpawn(ParticleBudget.Subsystem.BREATH, subject)) {
 						final Particle particle = new ParticleBubbleBreath(subject);
 						getState().addParticle(particle);
 					}
 				} else if (air == 0) {
 					// Need to generate a bunch of bubbles due to drowning
-					for (int i = 0; i < 8; i++) {
+					for (int i = 0; i < 8 && ParticleBudget.trySpawn(ParticleBudget.Subsystem.BREATH, subject); i++) {
 						final Particle particle = new ParticleBubbleBreath(subject, true);
 						getState().addParticle(particle);
 					}
 				}
 			} else {
 				final int interval = (c / 10) % 8;
-				if (interval < 3 && showFrostBreath(subject, state)) {
+				if (interval < 3 && showFrostBreath(subject, state)
+						&& ParticleBudget.trySpawn(ParticleBudget.Subsystem.BREATH, subject)) {
 					getState().addParticle(new ParticleFrostBreath(subject));
 				}
 			}
@@ -33,6 +33,7 @@ import org.orecruncher.dsurround.client.effects.EntityEffect;
 import org.orecruncher.dsurround.client.effects.IEntityEffectFactory;
 import org.orecruncher.dsurround.client.effects.IEntityEffectFactoryFilter;
 import org.orecruncher.dsurround.client.effects.IEntityEffectHandlerState;
+import org.orecruncher.dsurround.client.footsteps.FootstepScheduler;
 import org.orecruncher.dsurround.client.footsteps.Generator;
 import org.orecruncher.dsurround.registry.RegistryManager;
 import org.orecruncher.dsurround.registry.effect.EntityEffectInfo;
@@ -51,6 +52,7 @@ public class EntityFootprintEffect extends EntityEffect {
 
 	protected static final Random RANDOM = XorShiftRandom.current();
 
+	protected final FootstepScheduler.Request request = new FootstepScheduler.Request();
 	protected Generator generator;
 
 	@Override
@@ -67,7 +69,13 @@ public class EntityFootprintEffect extends EntityEffect {
 
 	@Override
 	public void update(@Nonnull final Entity subject) {
-		this.generator.generateFootsteps((EntityLivingBase) subject);
+		FootstepScheduler.INSTANCE.submit(this.request, this.generator, (EntityLivingBase) subject,
+				getState().rangeToPlayerSq());
+	}
+
+	@Override
+	public void die() {
+		FootstepScheduler.INSTANCE.cancel(this.request);
 	}
 
 	@Override
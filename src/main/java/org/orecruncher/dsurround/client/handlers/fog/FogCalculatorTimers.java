@@ -0,0 +1,85 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.handlers.fog;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.lib.OutOfBandTimerEMA;
+import org.orecruncher.lib.collections.ObjectArray;
+import org.orecruncher.lib.math.TimerEMA;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Render time spent in each of the calculators of a holistic calculator. Fog
+ * events fire outside of the client tick so the timers are out of band.
+ */
+@SideOnly(Side.CLIENT)
+public final class FogCalculatorTimers {
+
+	private final ObjectArray<TimerEMA> timers = new ObjectArray<>(8);
+	private long[] nanos = new long[8];
+	private long total;
+
+	void add(@Nonnull final Object calculator) {
+		String name = calculator.getClass().getSimpleName();
+		if (name.endsWith("Calculator"))
+			name = name.substring(0, name.length() - "Calculator".length());
+		this.timers.add(new OutOfBandTimerEMA(name));
+		if (this.timers.size() > this.nanos.length)
+			this.nanos = Arrays.copyOf(this.nanos, this.nanos.length * 2);
+	}
+
+	void record(final int calculator, final long elapsed) {
+		this.nanos[calculator] += elapsed;
+		this.total += elapsed;
+	}
+
+	/**
+	 * Total time spent in calculators since the last update.
+	 */
+	public long getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Folds the time gathered since the last call into the timers.
+	 */
+	public void update() {
+		for (int i = 0; i < this.timers.size(); i++) {
+			this.timers.get(i).update(this.nanos[i]);
+			this.nanos[i] = 0;
+		}
+		this.total = 0;
+	}
+
+	public void forEach(@Nonnull final Consumer<TimerEMA> action) {
+		this.timers.forEach(action);
+	}
+}
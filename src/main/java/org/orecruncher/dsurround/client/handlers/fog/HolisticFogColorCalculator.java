@@ -32,33 +32,71 @@ import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Blends the colors of the fog color calculators. The blend is worked out once
+ * per frame and handed back to any further requests with the same vanilla
+ * color.
+ */
 @SideOnly(Side.CLIENT)
 public class HolisticFogColorCalculator implements IFogColorCalculator {
 
 	protected ObjectArray<IFogColorCalculator> calculators = new ObjectArray<>(4);
+	protected final FogCalculatorTimers timers = new FogCalculatorTimers();
 	protected Color cached;
 
+	protected int frame;
+	protected int cachedFrame = -1;
+	protected float red;
+	protected float green;
+	protected float blue;
+
 	public void add(@Nonnull final IFogColorCalculator calc) {
 		this.calculators.add(calc);
+		this.timers.add(calc);
+	}
+
+	@Nonnull
+	public FogCalculatorTimers getTimers() {
+		return this.timers;
+	}
+
+	/**
+	 * Called at the start of each render frame. Results from the prior frame are
+	 * no longer valid.
+	 */
+	public void nextFrame() {
+		this.frame++;
 	}
 
 	@Override
 	public Color calculate(@Nonnull final EntityViewRenderEvent.FogColors event) {
+		if (this.cachedFrame == this.frame && this.red == event.getRed() && this.green == event.getGreen()
+				&& this.blue == event.getBlue())
+			return this.cached;
+
 		Color result = null;
 		for (int i = 0; i < this.calculators.size(); i++) {
+			final long mark = System.nanoTime();
 			final Color color = this.calculators.get(i).calculate(event);
+			this.timers.record(i, System.nanoTime() - mark);
 			if (result == null)
 				result = color;
 			else if (color != null)
 				result = result.mix(color);
 
 		}
+
+		this.cachedFrame = this.frame;
+		this.red = event.getRed();
+		this.green = event.getGreen();
+		this.blue = event.getBlue();
 		return this.cached = result;
 	}
 
 	@Override
 	public void tick() {
 		this.calculators.forEach(IFogColorCalculator::tick);
+		this.cachedFrame = -1;
 	}
 
 	@Override
@@ -33,35 +33,69 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 /**
  * Consults various different fog calculators and aggregates the results into a
- * single set.
+ * single set. Vanilla asks for fog several times a frame, so the aggregate is
+ * worked out once per frame and fog mode and handed back on the other calls.
  */
 @SideOnly(Side.CLIENT)
 public class HolisticFogRangeCalculator implements IFogRangeCalculator {
 
 	protected final ObjectArray<IFogRangeCalculator> calculators = new ObjectArray<>(8);
-	protected final FogResult cached = new FogResult();
+	protected final FogCalculatorTimers timers = new FogCalculatorTimers();
+
+	// Sky fog (mode -1) and terrain fog are memoized separately
+	protected final FogResult[] frameResult = { new FogResult(), new FogResult() };
+	protected final int[] resultFrame = { -1, -1 };
+	protected final float[] resultFarPlane = new float[2];
+	protected FogResult cached = this.frameResult[1];
+	protected int frame;
 
 	public void add(@Nonnull final IFogRangeCalculator calc) {
 		this.calculators.add(calc);
+		this.timers.add(calc);
+	}
+
+	@Nonnull
+	public FogCalculatorTimers getTimers() {
+		return this.timers;
+	}
+
+	/**
+	 * Called at the start of each render frame. Results from the prior frame are
+	 * no longer valid.
+	 */
+	public void nextFrame() {
+		this.frame++;
 	}
 
 	@Override
 	@Nonnull
 	public FogResult calculate(@Nonnull final EntityViewRenderEvent.RenderFogEvent event) {
+		final int slot = event.getFogMode() == -1 ? 0 : 1;
+		final FogResult result = this.frameResult[slot];
+		if (this.resultFrame[slot] == this.frame && this.resultFarPlane[slot] == event.getFarPlaneDistance())
+			return this.cached = result;
+
 		float start = event.getFarPlaneDistance();
 		float end = event.getFarPlaneDistance();
 		for (int i = 0; i < this.calculators.size(); i++) {
-			final FogResult result = this.calculators.get(i).calculate(event);
-			start = Math.min(start, result.getStart());
-			end = Math.min(end, result.getEnd());
+			final long mark = System.nanoTime();
+			final FogResult r = this.calculators.get(i).calculate(event);
+			this.timers.record(i, System.nanoTime() - mark);
+			start = Math.min(start, r.getStart());
+			end = Math.min(end, r.getEnd());
 		}
-		this.cached.set(start, end);
-		return this.cached;
+
+		result.set(start, end);
+		this.resultFrame[slot] = this.frame;
+		this.resultFarPlane[slot] = event.getFarPlaneDistance();
+		return this.cached = result;
 	}
 
 	@Override
 	public void tick() {
 		this.calculators.forEach(IFogRangeCalculator::tick);
+		// Tick driven state may have changed
+		this.resultFrame[0] = this.resultFrame[1] = -1;
 	}
 
 	@Override
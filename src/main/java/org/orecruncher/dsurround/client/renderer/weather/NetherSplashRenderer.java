@@ -44,14 +44,18 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class NetherSplashRenderer extends StormSplashRenderer {
 
+	public NetherSplashRenderer() {
+		super(true);
+	}
+
 	@Override
 	protected SoundEvent getBlockSoundFX(final Block block, final PrecipitationType pt) {
 		return pt == PrecipitationType.DUST ? Weather.getWeatherProperties().getDustSound() : null;
 	}
 
 	@Override
-	protected void spawnBlockParticle(final IBlockState state, final boolean dust, final World world, final double x,
-			final double y, final double z) {
+	protected void spawnBlockParticle(final IBlockState state, final byte surface, final boolean dust,
+			final World world, final double x, final double y, final double z) {
 		if (dust)
 			ParticleHelper.spawnParticle(EnumParticleTypes.SMOKE_NORMAL, x, y, z);
 	}
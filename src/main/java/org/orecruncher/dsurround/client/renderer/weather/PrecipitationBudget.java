@@ -0,0 +1,198 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
+import org.orecruncher.dsurround.lib.OutOfBandTimerEMA;
+import org.orecruncher.lib.math.TimerEMA;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Keeps the cost of rain and snow within a time budget per client tick. The
+ * storm renderer (every frame) and the splash generator (every tick) report
+ * how long they took; the time is summed over a tick, like the other out of
+ * band timers, and compared against the budget once a tick. When over budget
+ * the scale is cut back, and it creeps back up once there is room again. The
+ * scale maps to the column range of the storm renderer (by area, so the number
+ * of columns follows the scale) and to the rate of splash particles and
+ * sounds. Changing the range rebuilds the column cache so the range only moves
+ * when the scale is a full ring away from it, and not more often than every
+ * RANGE_HOLD ticks.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class PrecipitationBudget {
+
+	private static final int MIN_RANGE = 3;
+	private static final int RANGE_HOLD = 20;
+	private static final float MIN_SCALE = 0.1F;
+	private static final float BACKOFF = 0.9F;
+	private static final float RECOVER = 0.02F;
+
+	// Sounds are cheap compared to particles so they are cut back more gently
+	private static final float MIN_SOUND_RATE = 0.5F;
+
+	private static final OutOfBandTimerEMA stormTime = new OutOfBandTimerEMA("Storm Render");
+	private static final OutOfBandTimerEMA splashTime = new OutOfBandTimerEMA("Rain Splash");
+
+	private static long stormNanos;
+	private static long splashNanos;
+	private static boolean sampled;
+	private static float scale = 1F;
+	private static int range = -1;
+	private static int rangeChanged;
+	private static int tick;
+
+	private PrecipitationBudget() {
+
+	}
+
+	private static boolean isEnabled() {
+		return ModOptions.rain.precipitationBudget > 0;
+	}
+
+	private static int baseRange() {
+		return Minecraft.getMinecraft().gameSettings.fancyGraphics ? 10 : 5;
+	}
+
+	public static TimerEMA[] getTimers() {
+		return new TimerEMA[] { stormTime, splashTime };
+	}
+
+	/**
+	 * Records the time taken by one pass of the storm renderer.
+	 */
+	public static void recordStorm(final long nanos) {
+		stormNanos += nanos;
+		sampled = true;
+	}
+
+	/**
+	 * Records the time taken by one pass of the splash generator.
+	 */
+	public static void recordSplash(final long nanos) {
+		splashNanos += nanos;
+		sampled = true;
+	}
+
+	/**
+	 * Column range the storm renderer should use.
+	 */
+	public static int getRange() {
+		final int base = baseRange();
+		if (range < 0 || range > base)
+			range = base;
+		return range;
+	}
+
+	/**
+	 * Scales the number of splash particles to generate.
+	 */
+	public static int scaleSplashCount(final int count) {
+		return (int) (count * scale);
+	}
+
+	/**
+	 * Scales the chance value used to gate splash sounds. The larger the chance
+	 * the longer it takes before a sound is played.
+	 */
+	public static int scaleSoundChance(final int chance) {
+		return Math.round(chance / getSoundRate());
+	}
+
+	private static float getSoundRate() {
+		return MIN_SOUND_RATE + (1F - MIN_SOUND_RATE) * scale;
+	}
+
+	private static void updateRange(final int now) {
+		final int base = baseRange();
+		final int current = range < 0 ? base : Math.min(range, base);
+		final float target = Math.max(MIN_RANGE, base * MathHelper.sqrt(scale));
+		int next = current;
+		if (target <= current - 1)
+			next = MathHelper.ceil(target);
+		else if (target >= current + 1)
+			next = Math.min(base, MathHelper.floor(target));
+
+		if (next != current && now - rangeChanged >= RANGE_HOLD) {
+			range = next;
+			rangeChanged = now;
+		} else {
+			range = current;
+		}
+	}
+
+	@SubscribeEvent
+	public static void onClientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (event.phase != Phase.START)
+			return;
+
+		stormTime.update(stormNanos);
+		splashTime.update(splashNanos);
+		stormNanos = 0;
+		splashNanos = 0;
+
+		if (!isEnabled()) {
+			scale = 1F;
+		} else if (sampled) {
+			final double budget = ModOptions.rain.precipitationBudget;
+			final double actual = stormTime.getMSecs() + splashTime.getMSecs();
+			if (actual > budget)
+				scale = Math.max(MIN_SCALE, scale * BACKOFF);
+			else if (actual < budget * 0.75D)
+				scale = Math.min(1F, scale + RECOVER);
+		} else {
+			// Nothing is precipitating so there is nothing to measure
+			scale = Math.min(1F, scale + RECOVER);
+		}
+		sampled = false;
+
+		updateRange(++tick);
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		if (!isEnabled())
+			return;
+		event.output.add(TextFormatting.AQUA
+				+ String.format("Precipitation Budget: %d%% (%.2f/%.2fms) range %d splash %d%% sound %d%%",
+						(int) (scale * 100), stormTime.getMSecs() + splashTime.getMSecs(),
+						ModOptions.rain.precipitationBudget, getRange(), (int) (scale * 100),
+						(int) (getSoundRate() * 100)));
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.client.fx.LightSampler;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.weather.compat.RandomThings;
+import org.orecruncher.dsurround.event.BlockUpdateEvent;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Per column information the storm renderer needs around the player: whether
+ * and what it precipitates, the vertical extent of the precipitation, the
+ * biome, and the light level. None of that changes from frame to frame so it
+ * is only worked out again when the player moves to another block, a block
+ * nearby changes, or every so often to pick up light and season changes.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class PrecipitationColumnCache {
+
+	// How often the cache is refreshed to follow light and season changes
+	private static final int REFRESH_TICKS = 10;
+
+	// Block changes further out than this cannot affect the grid
+	private static final int UPDATE_RANGE = 16;
+
+	// Bumped whenever cached information may have gone stale
+	private static int epoch;
+
+	private final int maxRange;
+	private final int stride;
+
+	final int[] bottom;
+	final int[] top;
+	final int[] light;
+	final PrecipitationType[] type;
+	final BiomeInfo[] biome;
+
+	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private int cacheEpoch = -1;
+	private World world;
+	int centerX;
+	int centerY;
+	int centerZ;
+	int range = -1;
+	private int viewY;
+	private int refreshTick;
+
+	public PrecipitationColumnCache(final int maxRange) {
+		this.maxRange = maxRange;
+		this.stride = maxRange * 2 + 1;
+		final int size = this.stride * this.stride;
+		this.bottom = new int[size];
+		this.top = new int[size];
+		this.light = new int[size];
+		this.type = new PrecipitationType[size];
+		this.biome = new BiomeInfo[size];
+	}
+
+	public int getRange() {
+		return this.range;
+	}
+
+	public int getCenterX() {
+		return this.centerX;
+	}
+
+	public int getCenterZ() {
+		return this.centerZ;
+	}
+
+	/**
+	 * Index of the column at the specified offset from the player.
+	 */
+	public int index(final int dX, final int dZ) {
+		return (dZ + this.maxRange) * this.stride + dX + this.maxRange;
+	}
+
+	/**
+	 * Brings the cache up to date for the current player position.
+	 *
+	 * @return true if the cache was rebuilt
+	 */
+	public boolean update(@Nonnull final World world, @Nonnull final ISeasonInfo season,
+			@Nonnull final BlockPos playerPos, final int range, final int viewY) {
+		final int tick = EnvironState.getTickCounter();
+		if (this.cacheEpoch == epoch && this.world == world && this.range == range && this.viewY == viewY
+				&& this.centerX == playerPos.getX() && this.centerY == playerPos.getY()
+				&& this.centerZ == playerPos.getZ() && tick - this.refreshTick < REFRESH_TICKS)
+			return false;
+
+		this.cacheEpoch = epoch;
+		this.world = world;
+		this.range = Math.min(range, this.maxRange);
+		this.viewY = viewY;
+		this.centerX = playerPos.getX();
+		this.centerY = playerPos.getY();
+		this.centerZ = playerPos.getZ();
+		this.refreshTick = tick;
+
+		final int r = this.range;
+		for (int dZ = -r; dZ <= r; dZ++) {
+			for (int dX = -r; dX <= r; dX++) {
+				final int idx = index(dX, dZ);
+				final int gridX = this.centerX + dX;
+				final int gridZ = this.centerZ + dZ;
+				this.type[idx] = PrecipitationType.NONE;
+				this.biome[idx] = null;
+
+				this.mutable.setPos(gridX, 0, gridZ);
+				if (!RandomThings.shouldRain(world, this.mutable))
+					continue;
+
+				final BiomeInfo info = BiomeUtil.getBiomeData(ClientChunkCache.instance().getBiome(this.mutable));
+				final int precipHeight = season.getPrecipitationHeight(this.mutable).getY();
+				final int k2 = Math.max(this.centerY - r, precipHeight);
+				final int l2 = Math.max(this.centerY + r, precipHeight);
+				if (k2 == l2)
+					continue;
+
+				this.mutable.setPos(gridX, k2, gridZ);
+				final PrecipitationType pt = season.getPrecipitationType(this.mutable, info);
+				if (pt == PrecipitationType.NONE)
+					continue;
+
+				this.mutable.setPos(gridX, Math.max(precipHeight, viewY), gridZ);
+				this.type[idx] = pt;
+				this.biome[idx] = info;
+				this.bottom[idx] = k2;
+				this.top[idx] = l2;
+				this.light[idx] = LightSampler.getCombinedLight(this.mutable);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Flushes all column caches.
+	 */
+	public static void invalidate() {
+		epoch++;
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (event.oldState == event.newState)
+			return;
+		final BlockPos player = EnvironState.getPlayerPosition();
+		if (player == null || Math.abs(event.pos.getX() - player.getX()) <= UPDATE_RANGE
+				&& Math.abs(event.pos.getZ() - player.getZ()) <= UPDATE_RANGE)
+			invalidate();
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld().isRemote)
+			invalidate();
+	}
+}
@@ -0,0 +1,314 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Rain, snow and dust quads for the columns around the player baked into
+ * buffers in the PARTICLE_POSITION_TEX_COLOR_LMAP layout. Everything that only
+ * depends on the column (position, light, color and the per-column random
+ * values the animation uses) is written when the column cache changes. Each
+ * frame only the texture offsets and alpha are patched in. Positions are
+ * relative to the column the player is standing in so the renderer needs to
+ * translate by that origin. Nothing in here touches GL.
+ */
+@SideOnly(Side.CLIENT)
+public final class PrecipitationMesh {
+
+	public static final int RAIN = 0;
+	public static final int DUST = 1;
+	public static final int SNOW = 2;
+	private static final int LAYERS = 3;
+
+	private static final int VERTEX_BYTES = 28;
+	private static final int QUAD_BYTES = VERTEX_BYTES * 4;
+	private static final int TEX_U = 12;
+	private static final int TEX_V = 16;
+	private static final int ALPHA = 23;
+
+	private static final double[] RAIN_X_COORDS = new double[1024];
+	private static final double[] RAIN_Y_COORDS = new double[1024];
+
+	static {
+		for (int i = 0; i < 32; ++i) {
+			for (int j = 0; j < 32; ++j) {
+				final double f2 = j - 16;
+				final double f3 = i - 16;
+				final double f4 = MathHelper.sqrt(f2 * f2 + f3 * f3);
+				RAIN_X_COORDS[i << 5 | j] = (-f3 / f4) * 0.5D;
+				RAIN_Y_COORDS[i << 5 | j] = (f2 / f4) * 0.5D;
+			}
+		}
+	}
+
+	private final Random random = new XorShiftRandom();
+	private final Layer[] layers = new Layer[LAYERS];
+
+	private int originX;
+	private int originZ;
+
+	public PrecipitationMesh() {
+		for (int i = 0; i < LAYERS; i++)
+			this.layers[i] = new Layer();
+	}
+
+	public int getOriginX() {
+		return this.originX;
+	}
+
+	public int getOriginZ() {
+		return this.originZ;
+	}
+
+	public int getQuadCount(final int layer) {
+		return this.layers[layer].count;
+	}
+
+	/**
+	 * Bakes the quads for the columns in the cache.
+	 */
+	public void rebuild(@Nonnull final PrecipitationColumnCache columns) {
+		for (final Layer l : this.layers)
+			l.count = 0;
+
+		this.originX = columns.getCenterX();
+		this.originZ = columns.getCenterZ();
+		final int range = columns.getRange();
+
+		for (int dZ = -range; dZ <= range; ++dZ) {
+			for (int dX = -range; dX <= range; ++dX) {
+				final int column = columns.index(dX, dZ);
+				final PrecipitationType pt = columns.type[column];
+				if (pt == PrecipitationType.NONE)
+					continue;
+
+				final int gridX = this.originX + dX;
+				final int gridZ = this.originZ + dZ;
+				final int idx = (dZ + 16) * 32 + dX + 16;
+				final float rainX = (float) RAIN_X_COORDS[idx];
+				final float rainY = (float) RAIN_Y_COORDS[idx];
+				final BiomeInfo biome = columns.biome[column];
+				final int k2 = columns.bottom[column];
+				final int l2 = columns.top[column];
+				final int combinedLight = columns.light[column];
+
+				// Same sequence the random would produce each frame
+				final int seed = (gridZ << 16) ^ gridX;
+				this.random.setSeed(seed);
+
+				final Layer layer;
+				final Color color;
+				final int cl;
+				if (pt == PrecipitationType.RAIN) {
+					layer = this.layers[RAIN];
+					color = Color.WHITE;
+					cl = combinedLight;
+				} else {
+					layer = this.layers[pt == PrecipitationType.DUST ? DUST : SNOW];
+					color = pt == PrecipitationType.DUST ? biome.getDustColor() : Color.WHITE;
+					cl = (combinedLight * 3 + 15728880) / 4;
+				}
+
+				final int q = layer.add();
+				layer.seed[q] = seed;
+				layer.centerX[q] = gridX + 0.5D;
+				layer.centerZ[q] = gridZ + 0.5D;
+				layer.bottom[q] = k2;
+				layer.top[q] = l2;
+				if (pt == PrecipitationType.RAIN) {
+					layer.speed[q] = 3.0D + this.random.nextDouble();
+				} else {
+					layer.factor[q] = biome.getHasDust() ? 0.2F : 0.01F;
+					layer.shiftU[q] = this.random.nextDouble();
+					layer.gaussU[q] = (float) this.random.nextGaussian();
+					layer.shiftV[q] = this.random.nextDouble();
+					layer.gaussV[q] = (float) this.random.nextGaussian();
+				}
+
+				final int r = (int) (color.red * 255);
+				final int g = (int) (color.green * 255);
+				final int b = (int) (color.blue * 255);
+				final int sky = cl >> 16 & 65535;
+				final int block = cl & 65535;
+				final ByteBuffer data = layer.data;
+				data.position(q * QUAD_BYTES);
+				vertex(data, dX - rainX + 0.5F, k2, dZ - rainY + 0.5F, 0F, r, g, b, sky, block);
+				vertex(data, dX + rainX + 0.5F, k2, dZ + rainY + 0.5F, 1F, r, g, b, sky, block);
+				vertex(data, dX + rainX + 0.5F, l2, dZ + rainY + 0.5F, 1F, r, g, b, sky, block);
+				vertex(data, dX - rainX + 0.5F, l2, dZ - rainY + 0.5F, 0F, r, g, b, sky, block);
+			}
+		}
+	}
+
+	private static void vertex(@Nonnull final ByteBuffer data, final float x, final float y, final float z,
+			final float u, final int red, final int green, final int blue, final int skyLight, final int blockLight) {
+		data.putFloat(x).putFloat(y).putFloat(z);
+		data.putFloat(u).putFloat(0F);
+		data.put((byte) red).put((byte) green).put((byte) blue).put((byte) 0);
+		data.putShort((short) blockLight).putShort((short) skyLight);
+	}
+
+	/**
+	 * Patches the animated parts of the rain quads and returns the buffer ready
+	 * for drawing.
+	 */
+	@Nonnull
+	public ByteBuffer animateRain(final int renderCount, final float partialTicks, final double viewX,
+			final double viewZ, final int range, final float alphaRatio) {
+		final Layer layer = this.layers[RAIN];
+		final ByteBuffer data = layer.data;
+		for (int q = 0; q < layer.count; q++) {
+			// d5 makes the rain fall down. Assumes texture height of 512 pixels.
+			final double d5 = ((double) (renderCount + layer.seed[q] & 31) + (double) partialTicks) / 32.0D
+					* layer.speed[q];
+			final float f3 = distance(layer, q, viewX, viewZ) / range;
+			final float alpha = ((1.0F - f3 * f3) * 0.5F + 0.5F) * alphaRatio;
+			final float vBottom = (float) (layer.bottom[q] * 0.25D + d5);
+			final float vTop = (float) (layer.top[q] * 0.25D + d5);
+			final byte a = (byte) (int) (alpha * 255.0F);
+
+			final int base = q * QUAD_BYTES;
+			data.putFloat(base + TEX_V, vBottom).put(base + ALPHA, a);
+			data.putFloat(base + VERTEX_BYTES + TEX_V, vBottom).put(base + VERTEX_BYTES + ALPHA, a);
+			data.putFloat(base + VERTEX_BYTES * 2 + TEX_V, vTop).put(base + VERTEX_BYTES * 2 + ALPHA, a);
+			data.putFloat(base + VERTEX_BYTES * 3 + TEX_V, vTop).put(base + VERTEX_BYTES * 3 + ALPHA, a);
+		}
+		return prepare(layer);
+	}
+
+	/**
+	 * Patches the animated parts of the snow or dust quads and returns the
+	 * buffer ready for drawing.
+	 */
+	@Nonnull
+	public ByteBuffer animateSnow(final int which, final int renderCount, final float partialTicks,
+			final double viewX, final double viewZ, final int range, final float alphaRatio) {
+		final Layer layer = this.layers[which];
+		final ByteBuffer data = layer.data;
+		final float f1 = renderCount + partialTicks;
+		// d8 makes the snow fall down. Assumes texture height of 512 pixels.
+		final double d8 = ((renderCount & 511) + partialTicks) / 512.0F;
+		for (int q = 0; q < layer.count; q++) {
+			// d9 shifts the texture left/right, d10 up/down
+			final double d9 = layer.shiftU[q] + (double) f1 * layer.factor[q] * layer.gaussU[q];
+			final double d10 = layer.shiftV[q] + f1 * layer.gaussV[q] * 0.001D;
+			final float f3 = distance(layer, q, viewX, viewZ) / range;
+			final float alpha = ((1.0F - f3 * f3) * 0.3F + 0.5F) * alphaRatio;
+			final float u0 = (float) (0.0D + d9);
+			final float u1 = (float) (1.0D + d9);
+			final float vBottom = (float) (layer.bottom[q] * 0.25D + d8 + d10);
+			final float vTop = (float) (layer.top[q] * 0.25D + d8 + d10);
+			final byte a = (byte) (int) (alpha * 255.0F);
+
+			final int base = q * QUAD_BYTES;
+			patch(data, base, u0, vBottom, a);
+			patch(data, base + VERTEX_BYTES, u1, vBottom, a);
+			patch(data, base + VERTEX_BYTES * 2, u1, vTop, a);
+			patch(data, base + VERTEX_BYTES * 3, u0, vTop, a);
+		}
+		return prepare(layer);
+	}
+
+	private static void patch(@Nonnull final ByteBuffer data, final int vertex, final float u, final float v,
+			final byte alpha) {
+		data.putFloat(vertex + TEX_U, u).putFloat(vertex + TEX_V, v).put(vertex + ALPHA, alpha);
+	}
+
+	private static float distance(@Nonnull final Layer layer, final int q, final double viewX, final double viewZ) {
+		final double d6 = layer.centerX[q] - viewX;
+		final double d7 = layer.centerZ[q] - viewZ;
+		return MathHelper.sqrt(d6 * d6 + d7 * d7);
+	}
+
+	@Nonnull
+	private static ByteBuffer prepare(@Nonnull final Layer layer) {
+		layer.data.clear();
+		layer.data.limit(layer.count * QUAD_BYTES);
+		return layer.data;
+	}
+
+	/**
+	 * Quads of one texture along with what is needed to animate them.
+	 */
+	private static final class Layer {
+
+		private static final int INITIAL_QUADS = 64;
+
+		ByteBuffer data = allocate(INITIAL_QUADS);
+		int count;
+
+		int[] seed = new int[INITIAL_QUADS];
+		double[] centerX = new double[INITIAL_QUADS];
+		double[] centerZ = new double[INITIAL_QUADS];
+		int[] bottom = new int[INITIAL_QUADS];
+		int[] top = new int[INITIAL_QUADS];
+		double[] speed = new double[INITIAL_QUADS];
+		float[] factor = new float[INITIAL_QUADS];
+		double[] shiftU = new double[INITIAL_QUADS];
+		float[] gaussU = new float[INITIAL_QUADS];
+		double[] shiftV = new double[INITIAL_QUADS];
+		float[] gaussV = new float[INITIAL_QUADS];
+
+		private static ByteBuffer allocate(final int quads) {
+			return ByteBuffer.allocate(quads * QUAD_BYTES).order(ByteOrder.nativeOrder());
+		}
+
+		int add() {
+			if (this.count == this.seed.length) {
+				final int capacity = this.count * 2;
+				final ByteBuffer newData = allocate(capacity);
+				System.arraycopy(this.data.array(), 0, newData.array(), 0, this.count * QUAD_BYTES);
+				this.data = newData;
+				this.seed = Arrays.copyOf(this.seed, capacity);
+				this.centerX = Arrays.copyOf(this.centerX, capacity);
+				this.centerZ = Arrays.copyOf(this.centerZ, capacity);
+				this.bottom = Arrays.copyOf(this.bottom, capacity);
+				this.top = Arrays.copyOf(this.top, capacity);
+				this.speed = Arrays.copyOf(this.speed, capacity);
+				this.factor = Arrays.copyOf(this.factor, capacity);
+				this.shiftU = Arrays.copyOf(this.shiftU, capacity);
+				this.gaussU = Arrays.copyOf(this.gaussU, capacity);
+				this.shiftV = Arrays.copyOf(this.shiftV, capacity);
+				this.gaussV = Arrays.copyOf(this.gaussV, capacity);
+			}
+			return this.count++;
+		}
+	}
+}
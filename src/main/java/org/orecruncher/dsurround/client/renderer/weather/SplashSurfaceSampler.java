@@ -0,0 +1,241 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.ModInfo;
+import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.weather.compat.RandomThings;
+import org.orecruncher.dsurround.event.BlockUpdateEvent;
+import org.orecruncher.dsurround.event.DiagnosticEvent;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.collections.ObjectArray;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Table of the surfaces precipitation lands on in the columns around the
+ * player. A column is sampled from the world the first time a splash lands in
+ * it and the result is reused until the column changes, the sample gets old,
+ * or the column scrolls out of the table as the player moves. The table wraps
+ * around so moving only costs sampling the columns that come into range.
+ * Splashes are generated once per client tick, and the number of world samples
+ * per tick is capped so the cost of a tick stays bounded when the table is
+ * cold, such as right after a teleport.
+ */
+@SideOnly(Side.CLIENT)
+@EventBusSubscriber(value = Side.CLIENT, modid = ModInfo.MOD_ID)
+public final class SplashSurfaceSampler {
+
+	public static final byte NONE = 0;
+	public static final byte RAIN = 1;
+	public static final byte DUST = 2;
+
+	// What the precipitation lands on
+	public static final byte AIR = 0;
+	public static final byte LIQUID = 1;
+	public static final byte SOLID = 2;
+
+	// Needs to cover the largest splash range
+	private static final int SIZE = 64;
+	private static final int MASK = SIZE - 1;
+
+	// How long a sample is good for. Picks up season and temperature changes.
+	private static final int MAX_AGE = 100;
+
+	// World samples allowed per client tick
+	private static final int SAMPLE_BUDGET = 64;
+
+	private static final ObjectArray<SplashSurfaceSampler> samplers = new ObjectArray<>(4);
+
+	private final StormSplashRenderer owner;
+	private final boolean followsPlayerY;
+	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private final int[] columnX = new int[SIZE * SIZE];
+	private final int[] columnZ = new int[SIZE * SIZE];
+	private final int[] sampleTick = new int[SIZE * SIZE];
+	private final int[] sampleY = new int[SIZE * SIZE];
+	private final boolean[] valid = new boolean[SIZE * SIZE];
+
+	final byte[] kind = new byte[SIZE * SIZE];
+	final byte[] surface = new byte[SIZE * SIZE];
+	final int[] surfaceY = new int[SIZE * SIZE];
+	final float[] offsetY = new float[SIZE * SIZE];
+	final IBlockState[] state = new IBlockState[SIZE * SIZE];
+
+	private World world;
+	private int budget;
+	private int hits;
+	private int samples;
+	private int deferred;
+
+	/**
+	 * @param owner          Renderer whose getPrecipitationHeight() defines the
+	 *                       surface
+	 * @param followsPlayerY Whether the surface search depends on the height of
+	 *                       the player, in which case samples are dropped when
+	 *                       the player changes height
+	 */
+	public SplashSurfaceSampler(@Nonnull final StormSplashRenderer owner, final boolean followsPlayerY) {
+		this.owner = owner;
+		this.followsPlayerY = followsPlayerY;
+		samplers.add(this);
+	}
+
+	/**
+	 * Called at the start of a client tick, before any splashes are generated,
+	 * to reset the sample budget.
+	 */
+	public void beginTick() {
+		this.budget = SAMPLE_BUDGET;
+	}
+
+	/**
+	 * Obtains the surface information for the specified column, sampling the
+	 * world if needed.
+	 *
+	 * @return Index of the column in the table, or -1 if nothing falls there or
+	 *         the sample budget for the tick is used up
+	 */
+	public int sample(@Nonnull final World world, @Nonnull final ISeasonInfo season, final int x, final int z,
+			final int range, final int playerY) {
+		if (this.world != world) {
+			clear();
+			this.world = world;
+		}
+
+		final int idx = (z & MASK) * SIZE + (x & MASK);
+		final int tick = EnvironState.getTickCounter();
+		if (this.valid[idx] && this.columnX[idx] == x && this.columnZ[idx] == z
+				&& tick - this.sampleTick[idx] < MAX_AGE && (!this.followsPlayerY || this.sampleY[idx] == playerY)) {
+			this.hits++;
+			return this.kind[idx] == NONE ? -1 : idx;
+		}
+
+		if (this.budget <= 0) {
+			this.deferred++;
+			return -1;
+		}
+
+		this.budget--;
+		this.samples++;
+		this.valid[idx] = true;
+		this.columnX[idx] = x;
+		this.columnZ[idx] = z;
+		this.sampleTick[idx] = tick;
+		this.sampleY[idx] = playerY;
+		this.kind[idx] = NONE;
+		this.state[idx] = null;
+
+		this.mutable.setPos(x, 0, z);
+		if (!RandomThings.shouldRain(world, this.mutable))
+			return -1;
+
+		final BlockPos precipHeight = this.owner.getPrecipitationHeight(season, range, this.mutable);
+		final PrecipitationType pt = season.getPrecipitationType(precipHeight, null);
+		if (pt != PrecipitationType.DUST && pt != PrecipitationType.RAIN)
+			return -1;
+
+		final BlockPos blockPos = precipHeight.down();
+		final IBlockState blockState = ClientChunkCache.instance().getBlockState(blockPos);
+		this.kind[idx] = pt == PrecipitationType.DUST ? DUST : RAIN;
+		this.surfaceY[idx] = precipHeight.getY();
+		this.offsetY[idx] = (float) (0.1F - blockState.getBoundingBox(world, blockPos).minY);
+		this.state[idx] = blockState;
+		final Material material = blockState.getMaterial();
+		if (material == Material.AIR)
+			this.surface[idx] = AIR;
+		else if (material.isLiquid())
+			this.surface[idx] = LIQUID;
+		else
+			this.surface[idx] = SOLID;
+		return idx;
+	}
+
+	public void clear() {
+		for (int i = 0; i < this.valid.length; i++) {
+			this.valid[i] = false;
+			this.state[i] = null;
+		}
+		this.world = null;
+	}
+
+	private void invalidate(final int x, final int z) {
+		final int idx = (z & MASK) * SIZE + (x & MASK);
+		if (this.columnX[idx] == x && this.columnZ[idx] == z)
+			this.valid[idx] = false;
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		final int total = this.hits + this.samples;
+		final float rate = total == 0 ? 0F : this.hits * 100F / total;
+		final String result = String.format("Splash Surfaces: %.1f%% cached, %d deferred (budget %d/tick)", rate,
+				this.deferred, SAMPLE_BUDGET);
+		this.hits = 0;
+		this.samples = 0;
+		this.deferred = 0;
+		return result;
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (event.oldState == event.newState)
+			return;
+		final int x = event.pos.getX();
+		final int z = event.pos.getZ();
+		for (int i = 0; i < samplers.size(); i++)
+			samplers.get(i).invalidate(x, z);
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		for (int i = 0; i < samplers.size(); i++) {
+			final SplashSurfaceSampler sampler = samplers.get(i);
+			if (sampler.hits + sampler.samples + sampler.deferred > 0)
+				event.output.add(sampler.toString());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld().isRemote)
+			for (int i = 0; i < samplers.size(); i++)
+				samplers.get(i).clear();
+	}
+}
@@ -36,10 +36,8 @@ import org.orecruncher.dsurround.client.handlers.SoundEffectHandler;
 import org.orecruncher.dsurround.client.sound.SoundBuilder;
 import org.orecruncher.dsurround.client.sound.SoundInstance;
 import org.orecruncher.dsurround.client.weather.Weather;
-import org.orecruncher.dsurround.client.weather.compat.RandomThings;
 import org.orecruncher.dsurround.registry.biome.BiomeUtil;
 import org.orecruncher.lib.WorldUtils;
-import org.orecruncher.lib.chunk.ClientChunkCache;
 import org.orecruncher.lib.gfx.ParticleHelper;
 import org.orecruncher.lib.random.XorShiftRandom;
 
@@ -84,8 +82,22 @@ public class StormSplashRenderer {
 	protected final NoiseGeneratorSimplex GENERATOR = new NoiseGeneratorSimplex(this.RANDOM);
 	protected final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
+	protected final SplashSurfaceSampler surfaces;
+
 	protected int rainSoundCounter = 0;
 
+	public StormSplashRenderer() {
+		this(false);
+	}
+
+	/**
+	 * @param followsPlayerY Whether getPrecipitationHeight() depends on the height
+	 *                       of the player
+	 */
+	protected StormSplashRenderer(final boolean followsPlayerY) {
+		this.surfaces = new SplashSurfaceSampler(this, followsPlayerY);
+	}
+
 	protected float calculateRainSoundVolume(final World world) {
 		final float currentVolume = Weather.getCurrentVolume();
 		final float bounds = currentVolume * 0.25F;
@@ -94,20 +106,23 @@ public class StormSplashRenderer {
 		return MathHelper.clamp(currentVolume + adjust, 0, 1F);
 	}
 
-	protected void spawnBlockParticle(final IBlockState state, final boolean dust, final World world, final double x,
-			final double y, final double z) {
+	protected void spawnBlockParticle(final IBlockState state, final byte surface, final boolean dust,
+			final World world, final double x, final double y, final double z) {
+		if (dust || surface == SplashSurfaceSampler.AIR)
+			return;
+
 		final Block block = state.getBlock();
 		EnumParticleTypes particleType = null;
 
-		if (dust || block == Blocks.SOUL_SAND) {
+		if (block == Blocks.SOUL_SAND) {
 			particleType = null;
 		} else if ((block == Blocks.NETHERRACK || block == Blocks.MAGMA) && ModOptions.rain.enableNetherrackMagmaSplashEffect && this.RANDOM.nextInt(20) == 0) {
 			particleType = EnumParticleTypes.LAVA;
-		} else if (state.getMaterial() == Material.LAVA) {
+		} else if (surface == SplashSurfaceSampler.LIQUID && state.getMaterial() == Material.LAVA) {
 			particleType = EnumParticleTypes.SMOKE_NORMAL;
-		} else if (WorldUtils.isFullWaterBlock(state)) {
+		} else if (surface == SplashSurfaceSampler.LIQUID && WorldUtils.isFullWaterBlock(state)) {
 			ParticleCollections.addWaterRipple(world, x, y, z);
-		} else if (state.getMaterial() != Material.AIR) {
+		} else {
 			ParticleCollections.addRainSplash(world, x, y, z);
 		}
 
@@ -131,13 +146,12 @@ public class StormSplashRenderer {
 		return ModOptions.fog.allowDesertFog && !Weather.doVanilla() && BiomeUtil.getBiomeData(biome).getHasDust();
 	}
 
-	protected void playSplashSound(final ISeasonInfo season, final World world, final Entity player, double x, double y,
-			double z) {
+	protected void playSplashSound(final ISeasonInfo season, final World world, final Entity player, final int cell,
+			final double x, final double y, final double z) {
 
-		this.pos.setPos(x, y - 1, z);
-		final PrecipitationType pt = season.getPrecipitationType(this.pos, null);
-		final Block block = ClientChunkCache.instance().getBlockState(this.pos).getBlock();
-		final SoundEvent sound = getBlockSoundFX(block, pt);
+		final PrecipitationType pt = this.surfaces.kind[cell] == SplashSurfaceSampler.DUST ? PrecipitationType.DUST
+				: PrecipitationType.RAIN;
+		final SoundEvent sound = getBlockSoundFX(this.surfaces.state[cell].getBlock(), pt);
 		if (sound != null) {
 			final float volume = calculateRainSoundVolume(world);
 			float pitch = 1.0F;
@@ -170,6 +184,7 @@ public class StormSplashRenderer {
 		if (rainStrengthFactor <= 0.0F)
 			return;
 
+		final long start = System.nanoTime();
 		this.RANDOM.setSeed(RenderWeather.getRendererUpdateCount() * 312987231L);
 		final Entity entity = mc.getRenderViewEntity();
 		final int playerX = MathHelper.floor(entity.posX);
@@ -187,42 +202,45 @@ public class StormSplashRenderer {
 		if (mc.gameSettings.particleSetting == 1)
 			particleCount >>= 1;
 
+		particleCount = PrecipitationBudget.scaleSplashCount(particleCount * ModOptions.rain.splashDensity / 100);
+		this.surfaces.beginTick();
+
 		final ISeasonInfo season = CapabilitySeasonInfo.getCapability(world);
 
+		int spawnCell = -1;
+
 		for (int j1 = 0; j1 < particleCount; ++j1) {
 			final int locX = playerX + this.RANDOM.nextInt(RANGE) - this.RANDOM.nextInt(RANGE);
 			final int locZ = playerZ + this.RANDOM.nextInt(RANGE) - this.RANDOM.nextInt(RANGE);
-			this.pos.setPos(locX, 0, locZ);
 
-			if (!RandomThings.shouldRain(world, this.pos))
+			final int cell = this.surfaces.sample(world, season, locX, locZ, RANGE / 2, playerY);
+			if (cell < 0)
 				continue;
 
-			final BlockPos precipHeight = getPrecipitationHeight(season, RANGE / 2, this.pos);
-			final PrecipitationType pt = season.getPrecipitationType(precipHeight, null);
-			final boolean hasDust = pt == PrecipitationType.DUST;
-
-			if ((hasDust || pt == PrecipitationType.RAIN) && precipHeight.getY() <= playerY + RANGE
-					&& precipHeight.getY() >= playerY - RANGE) {
-
-				final BlockPos blockPos = precipHeight.down();
-				final IBlockState state = ClientChunkCache.instance().getBlockState(blockPos);
+			final int surfaceY = this.surfaces.surfaceY[cell];
+			if (surfaceY <= playerY + RANGE && surfaceY >= playerY - RANGE) {
 				final double posX = locX + this.RANDOM.nextFloat();
-				final double posY = precipHeight.getY() + 0.1F - state.getBoundingBox(world, blockPos).minY;
+				final double posY = surfaceY + this.surfaces.offsetY[cell];
 				final double posZ = locZ + this.RANDOM.nextFloat();
 
-				spawnBlockParticle(state, hasDust, world, posX, posY, posZ);
+				spawnBlockParticle(this.surfaces.state[cell], this.surfaces.surface[cell],
+						this.surfaces.kind[cell] == SplashSurfaceSampler.DUST, world, posX, posY, posZ);
 
 				if (this.RANDOM.nextInt(++particlesSpawned) == 0) {
 					spawnX = posX;
 					spawnY = posY;
 					spawnZ = posZ;
+					spawnCell = cell;
 				}
 			}
 		}
 
-		if (particlesSpawned > 0 && this.RANDOM.nextInt(PARTICLE_SOUND_CHANCE) < this.rainSoundCounter++) {
+		final int soundChance = PrecipitationBudget.scaleSoundChance(PARTICLE_SOUND_CHANCE);
+		if (particlesSpawned > 0 && this.RANDOM.nextInt(soundChance) < this.rainSoundCounter++) {
 			this.rainSoundCounter = 0;
-			playSplashSound(season, world, entity, spawnX, spawnY, spawnZ);
+			playSplashSound(season, world, entity, spawnCell, spawnX, spawnY, spawnZ);
 		}
+
+		PrecipitationBudget.recordSplash(System.nanoTime() - start);
 	}
 }
@@ -64,6 +64,8 @@ public class Weather {
 		TORRENTIAL(1.0F, "torrential");
 		//@formatter:on
 
+		private static final Properties[] VALUES = values();
+
 		private final float level;
 		private final ResourceLocation rainTexture;
 		private final ResourceLocation snowTexture;
@@ -129,8 +131,8 @@ public class Weather {
 				str = MathStuff.clamp(str, DimensionInfo.MIN_INTENSITY, DimensionInfo.MAX_INTENSITY);
 				result = Properties.NONE;
 
-				for (int i = 0; i < Properties.values().length; i++) {
-					final Properties p = Properties.values()[i];
+				for (int i = 0; i < VALUES.length; i++) {
+					final Properties p = VALUES[i];
 					if (str <= p.getLevel()) {
 						result = p;
 						break;
@@ -53,6 +53,9 @@ public class SimulationTracker extends Tracker {
 	protected Properties intensity = Properties.NONE;
 	protected Random random;
 
+	private final ThunderSchedule thunder = new ThunderSchedule();
+	private float appliedLevel = Float.NaN;
+
 	@Override
 	protected String type() {
 		return "SIMULATION";
@@ -105,6 +108,8 @@ public class SimulationTracker extends Tracker {
 			this.intensityLevel = 0F;
 			this.maxIntensityLevel = 0F;
 			this.nextThunderEvent = 0;
+			this.appliedLevel = Float.NaN;
+			this.thunder.stop();
 		}
 	}
 
@@ -134,6 +139,7 @@ public class SimulationTracker extends Tracker {
 			this.maxIntensityLevel = 0F;
 			this.nextThunderEvent = 0;
 			this.random = null;
+			this.thunder.stop();
 		}
 
 		final float newIntensity = MathStuff.clamp(vanillaIntensity, 0.0F, this.maxIntensityLevel);
@@ -148,6 +154,11 @@ public class SimulationTracker extends Tracker {
 	 */
 	protected void setCurrentIntensity(final float level) {
 
+		// Rain strength holds steady for most of a storm
+		if (level == this.appliedLevel)
+			return;
+		this.appliedLevel = level;
+
 		this.intensity = Properties.mapRainStrength(level);
 
 		if (this.intensity == Properties.VANILLA)
@@ -164,36 +175,31 @@ public class SimulationTracker extends Tracker {
 	private void doAmbientThunder() {
 
 		// If it is thundering and the intensity exceeds our threshold...
-		if (backgroundThunderPossible()) {
-			int time = this.nextThunderEvent - 1;
-			if (time <= 0) {
-				final float intensity = getIntensityLevel();
-				if (time == 0) {
-					final EntityPlayer player = PlayerUtils.getRandomPlayer(EnvironState.getWorld());
-					if (player != null) {
-						final float theY = EnvironState.getDimensionInfo().getSkyHeight();
-						final BlockPos pos = new BlockPos(player.posX, theY, player.posZ);
-						MinecraftForge.EVENT_BUS.post(new ThunderEvent(player.getEntityWorld().provider.getDimension(),
-								doFlash(intensity), pos));
-					}
+		if (this.random != null && backgroundThunderPossible()) {
+			final int tick = EnvironState.getTickCounter();
+			final float intensity = getIntensityLevel();
+			if (!this.thunder.isActive())
+				this.thunder.start(this.random, intensity, tick);
+
+			if (this.thunder.isDue(tick)) {
+				final EntityPlayer player = PlayerUtils.getRandomPlayer(EnvironState.getWorld());
+				if (player != null) {
+					final float theY = EnvironState.getDimensionInfo().getSkyHeight();
+					final BlockPos pos = new BlockPos(player.posX, theY, player.posZ);
+					MinecraftForge.EVENT_BUS.post(new ThunderEvent(player.getEntityWorld().provider.getDimension(),
+							doFlash(intensity), pos));
 				}
-
-				// set new time
-				time = nextThunderEvent(intensity);
+				this.thunder.scheduleNext(tick, intensity);
 			}
-			this.nextThunderEvent = time;
+			this.nextThunderEvent = this.thunder.ticksUntilNext(tick);
 
 		} else {
-			// Clear out the timer data for the next storm
+			// Clear out the schedule for the next storm
+			this.thunder.stop();
 			this.nextThunderEvent = 0;
 		}
 	}
 
-	private int nextThunderEvent(final float rainIntensity) {
-		final float scale = 2.0F - rainIntensity;
-		return this.random.nextInt((int) (450 * scale)) + 300;
-	}
-
 	protected boolean doFlash(final float rainIntensity) {
 		final int randee = (int) (rainIntensity * 100.0F);
 		return this.random.nextInt(150) <= randee;
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.weather.tracker;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Background thunder for a storm. Only the next event is scheduled ahead; the
+ * interval after it is drawn when it fires, using the intensity of the storm
+ * at that point, so thunder follows a storm as it ramps up. Intervals are
+ * drawn from the storm random in the order the old countdown drew them.
+ * Checking whether something is due is a compare against the tick of the next
+ * event.
+ */
+@SideOnly(Side.CLIENT)
+final class ThunderSchedule {
+
+	private Random random;
+	private int nextTick;
+	private boolean active;
+
+	public boolean isActive() {
+		return this.active;
+	}
+
+	/**
+	 * Starts scheduling thunder for a storm.
+	 *
+	 * @param random    Random of the storm
+	 * @param intensity Current intensity of the storm
+	 * @param tick      Current tick
+	 */
+	public void start(@Nonnull final Random random, final float intensity, final int tick) {
+		this.random = random;
+		this.nextTick = tick + interval(intensity);
+		this.active = true;
+	}
+
+	public void stop() {
+		this.active = false;
+		this.random = null;
+	}
+
+	/**
+	 * Ticks until the next thunder event, 0 if nothing is scheduled.
+	 */
+	public int ticksUntilNext(final int tick) {
+		return this.active ? this.nextTick - tick : 0;
+	}
+
+	/**
+	 * Checks whether an event is due. The event stays due until scheduleNext()
+	 * is called.
+	 */
+	public boolean isDue(final int tick) {
+		return this.active && this.nextTick <= tick;
+	}
+
+	/**
+	 * Consumes the due event and schedules the next one. Called after any flash
+	 * roll for the event has been drawn so the draws stay in the old order.
+	 *
+	 * @param tick      Current tick
+	 * @param intensity Current intensity of the storm
+	 */
+	public void scheduleNext(final int tick, final float intensity) {
+		this.nextTick = tick + interval(intensity);
+	}
+
+	private int interval(final float intensity) {
+		final float scale = 2.0F - intensity;
+		return this.random.nextInt((int) (450 * scale)) + 300;
+	}
+}
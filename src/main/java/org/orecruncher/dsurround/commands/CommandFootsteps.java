@@ -0,0 +1,159 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.commands;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.ModOptions;
+import org.orecruncher.dsurround.client.footsteps.trace.FootstepTrace;
+import org.orecruncher.dsurround.client.footsteps.trace.TraceRecorder;
+import org.orecruncher.dsurround.client.footsteps.trace.TraceReplay;
+
+import com.google.common.collect.ImmutableList;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+@SideOnly(Side.CLIENT)
+public class CommandFootsteps extends CommandBase {
+
+	private final static String COMMAND = ModOptions.commands.footsteps.commandNameFootsteps;
+	private final static String COMMAND_OPTION_HELP = "help";
+	private final static String COMMAND_OPTION_RECORD = "record";
+	private final static String COMMAND_OPTION_STOP = "stop";
+	private final static String COMMAND_OPTION_REPLAY = "replay";
+
+	private final static int DEFAULT_ITERATIONS = 10;
+
+	private static final List<String> ALIAS = ImmutableList.<String>builder()
+			.add(ModOptions.commands.footsteps.commandAliasFootsteps.split(" ")).build();
+
+	private static final List<String> HELP = ImmutableList.<String>builder()
+			.add(TextFormatting.GOLD + "Footstep trace command help:")
+			.add(TextFormatting.YELLOW + "/" + COMMAND + " record <name>")
+			.add(TextFormatting.YELLOW + "/" + COMMAND + " stop")
+			.add(TextFormatting.YELLOW + "/" + COMMAND + " replay <name> [iterations]").build();
+
+	@Override
+	public String getName() {
+		return COMMAND;
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 0;
+	}
+
+	@Override
+	public List<String> getAliases() {
+		return ALIAS;
+	}
+
+	@Override
+	public String getUsage(final ICommandSender sender) {
+		return TextFormatting.GOLD + "/" + COMMAND + " help" + TextFormatting.BLUE + " -- Help for Footstep traces";
+	}
+
+	private static File traceFile(final String name, final String extension) {
+		return new File(new File(ModBase.dataDirectory(), "traces"), name + extension);
+	}
+
+	@Override
+	public void execute(final MinecraftServer server, final ICommandSender sender, final String[] parms)
+			throws CommandException {
+		try {
+			boolean showHelp = false;
+
+			if (parms.length == 0) {
+				showHelp = true;
+			} else if (COMMAND_OPTION_HELP.compareToIgnoreCase(parms[0]) == 0) {
+				showHelp = true;
+			} else if (COMMAND_OPTION_RECORD.compareToIgnoreCase(parms[0]) == 0) {
+				if (parms.length < 2) {
+					showHelp = true;
+				} else if (TraceRecorder.isRecording()) {
+					sender.sendMessage(new TextComponentString(TextFormatting.RED + "A trace is already recording"));
+				} else {
+					TraceRecorder.start(traceFile(parms[1], FootstepTrace.EXTENSION));
+					sender.sendMessage(new TextComponentString(TextFormatting.GREEN + "Recording " + parms[1]));
+				}
+			} else if (COMMAND_OPTION_STOP.compareToIgnoreCase(parms[0]) == 0) {
+				final FootstepTrace trace = TraceRecorder.stop();
+				if (trace == null)
+					sender.sendMessage(new TextComponentString(TextFormatting.RED + "No trace is recording"));
+				else
+					sender.sendMessage(new TextComponentString(TextFormatting.GREEN + "Recorded "
+							+ trace.getFrames().size() + " frames, " + trace.getBlocks().size() + " blocks"));
+			} else if (COMMAND_OPTION_REPLAY.compareToIgnoreCase(parms[0]) == 0) {
+				if (parms.length < 2) {
+					showHelp = true;
+				} else {
+					final int iterations = parms.length > 2 ? parseInt(parms[2], 1, 1000) : DEFAULT_ITERATIONS;
+					final FootstepTrace trace = FootstepTrace.load(traceFile(parms[1], FootstepTrace.EXTENSION));
+					final TraceReplay.Report report = new TraceReplay(trace, Minecraft.getMinecraft().world)
+							.run(iterations);
+					final File out = traceFile(parms[1], ".txt");
+					try (final Writer writer = new OutputStreamWriter(Files.newOutputStream(out.toPath()),
+							StandardCharsets.UTF_8)) {
+						writer.write(report.toString());
+						writer.write(System.lineSeparator());
+						writer.write(report.sequence);
+					}
+					for (final String line : report.toString().split("\\R"))
+						sender.sendMessage(new TextComponentString(TextFormatting.AQUA + line));
+				}
+			} else {
+				showHelp = true;
+			}
+
+			if (showHelp) {
+				for (final String line : HELP)
+					sender.sendMessage(new TextComponentString(line));
+			}
+
+		} catch (final IOException ex) {
+			sender.sendMessage(new TextComponentString(TextFormatting.RED + ex.getMessage()));
+		} catch (final CommandException ex) {
+			throw ex;
+		} catch (final Exception ex) {
+			ex.printStackTrace();
+		}
+	}
+
+}
@@ -49,6 +49,7 @@ import org.orecruncher.dsurround.client.sound.BackgroundMute;
 import org.orecruncher.dsurround.client.sound.SoundEngine;
 import org.orecruncher.dsurround.client.weather.Weather;
 import org.orecruncher.dsurround.commands.CommandCalc;
+import org.orecruncher.dsurround.commands.CommandFootsteps;
 import org.orecruncher.dsurround.event.WorldEventDetector;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
 import org.orecruncher.dsurround.registry.RegistryDataEvent;
@@ -126,6 +127,7 @@ public class ProxyClient extends Proxy implements IProxy, ISelectiveResourceRelo
 		ParticleDripOverride.register();
 
 		ClientCommandHandler.instance.registerCommand(new CommandCalc());
+		ClientCommandHandler.instance.registerCommand(new CommandFootsteps());
 
 		if (ModOptions.effects.disableWaterSuspendParticle)
 			Minecraft.getMinecraft().effectRenderer.registerParticle(EnumParticleTypes.SUSPENDED.getParticleID(), null);
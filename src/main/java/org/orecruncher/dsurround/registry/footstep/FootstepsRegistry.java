@@ -33,11 +33,13 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.client.footsteps.Generator;
 import org.orecruncher.dsurround.client.footsteps.GeneratorQP;
+import org.orecruncher.dsurround.client.footsteps.SoundPlayer;
 import org.orecruncher.dsurround.registry.Registry;
 import org.orecruncher.dsurround.registry.RegistryManager;
 import org.orecruncher.dsurround.registry.acoustics.AcousticRegistry;
@@ -50,6 +52,8 @@ import org.orecruncher.dsurround.registry.effect.EntityEffectInfo;
 import org.orecruncher.lib.ItemStackUtil;
 import org.orecruncher.lib.MCHelper;
 
+import com.google.common.collect.ImmutableMap;
+
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.block.Block;
@@ -79,6 +83,7 @@ import net.minecraft.item.ItemBlockSpecial;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundEvent;
+import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -176,6 +181,10 @@ public final class FootstepsRegistry extends Registry {
 		this.playerQuadrupedVariator = getVariator(
 				ModOptions.sound.firstPersonFootstepCadence ? "quadrupedSlow" : "quadruped");
 
+		// Variators are fixed from here on out. Generators bind their values when
+		// created so the map only needs to serve lookups.
+		this.variators = ImmutableMap.copyOf(this.variators);
+
 		// Generate a list of IBlockState objects for all blocks registered
 		// with Forge.
 		//@formatter:off
@@ -286,25 +295,42 @@ public final class FootstepsRegistry extends Registry {
 	}
 
 	public Generator createGenerator(@Nonnull final EntityLivingBase entity) {
-		final EntityEffectInfo info = RegistryManager.EFFECTS.getEffects(entity);
-		
-		Variator var = null;
-		if (entity.isChild()) {
-			var = this.childVariator;
-		} else if (entity instanceof EntityPlayer) {
-			var = ModOptions.sound.foostepsQuadruped ? this.playerQuadrupedVariator : this.playerVariator;
-		} else {
-			var = getVariator(info.variator);
-		}
-		
+		final Variator var = getVariator(entity);
 		return var.QUADRUPED ? new GeneratorQP(var) : new Generator(var);
 	}
 
+	/**
+	 * Creates a generator that is not bound to the client world. Used when
+	 * replaying recorded footstep traces.
+	 */
+	public Generator createGenerator(@Nonnull final Variator var, @Nonnull final SoundPlayer player,
+			@Nonnull final IBlockAccess world) {
+		return var.QUADRUPED ? new GeneratorQP(var, player, world) : new Generator(var, player, world);
+	}
+
 	@Nonnull
-	private Variator getVariator(@Nonnull final String varName) {
+	public Variator getVariator(@Nonnull final EntityLivingBase entity) {
+		if (entity.isChild())
+			return this.childVariator;
+		if (entity instanceof EntityPlayer)
+			return ModOptions.sound.foostepsQuadruped ? this.playerQuadrupedVariator : this.playerVariator;
+		final EntityEffectInfo info = RegistryManager.EFFECTS.getEffects(entity);
+		return getVariator(info.variator);
+	}
+
+	@Nonnull
+	public Variator getVariator(@Nonnull final String varName) {
 		return this.variators.getOrDefault(varName, this.defaultVariator);
 	}
 
+	@Nullable
+	public String getVariatorName(@Nonnull final Variator var) {
+		for (final Map.Entry<String, Variator> e : this.variators.entrySet())
+			if (e.getValue() == var)
+				return e.getKey();
+		return null;
+	}
+
 	@Nonnull
 	public BlockMap getBlockMap() {
 		return this.blockMap;
@@ -31,8 +31,14 @@ import org.orecruncher.dsurround.registry.config.VariatorConfig;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Tuning parameters for the footstep generator of a class of entity. Instances
+ * are immutable once built from configuration so they can be shared between
+ * generators, and read from any thread, without synchronization. Generators
+ * bind the values they need when they are created.
+ */
 @SideOnly(Side.CLIENT)
-public class Variator {
+public final class Variator {
 
 	public final int IMMOBILE_DURATION;
 	public final boolean EVENT_ON_JUMP;
@@ -52,24 +58,18 @@ public class Variator {
 	public final float FOOTPRINT_SCALE;
 	public final float VOLUME_SCALE;
 
+	// Derived values in the form the per-tick simulation compares against. The
+	// configured speed thresholds have always been compared with the squared
+	// horizontal speed of the entity, so they carry over as squared thresholds
+	// without being squared again.
+	public final long IMMOBILE_DURATION_MS;
+	public final double SPEED_TO_RUN_SQ;
+	public final double SPEED_TO_JUMP_AS_MULTIFOOT_SQ;
+	public final float RIGHT_FOOT_OFFSET;
+	public final float LEFT_FOOT_OFFSET;
+
 	public Variator() {
-		this.IMMOBILE_DURATION = 200;
-		this.EVENT_ON_JUMP = true;
-		this.LAND_HARD_DISTANCE_MIN = 0.9F;
-		this.SPEED_TO_JUMP_AS_MULTIFOOT = 0.005F;
-		this.SPEED_TO_RUN = 0.22F; // 0.022F;
-		this.STRIDE = 0.75F; // 0.95F;
-		this.STRIDE_STAIR = this.STRIDE * 0.65F;
-		this.STRIDE_LADDER = 0.5F;
-		this.QUADRUPED_MULTIPLIER = 1.25F;
-		this.PLAY_WANDER = true;
-		this.QUADRUPED = false;
-		this.PLAY_JUMP = false;
-		this.DISTANCE_TO_CENTER = 0.2F;
-		this.HAS_FOOTPRINT = true;
-		this.FOOTPRINT_STYLE = FootprintStyle.LOWRES_SQUARE;
-		this.FOOTPRINT_SCALE = 1.0F;
-		this.VOLUME_SCALE = 1.0F;
+		this(new VariatorConfig());
 	}
 
 	public Variator(@Nonnull final VariatorConfig cfg) {
@@ -90,6 +90,12 @@ public class Variator {
 		this.FOOTPRINT_STYLE = FootprintStyle.getStyle(cfg.footprintStyle);
 		this.FOOTPRINT_SCALE = cfg.footprintScale;
 		this.VOLUME_SCALE = cfg.volumeScale;
+
+		this.IMMOBILE_DURATION_MS = this.IMMOBILE_DURATION;
+		this.SPEED_TO_RUN_SQ = this.SPEED_TO_RUN;
+		this.SPEED_TO_JUMP_AS_MULTIFOOT_SQ = this.SPEED_TO_JUMP_AS_MULTIFOOT;
+		this.RIGHT_FOOT_OFFSET = -this.DISTANCE_TO_CENTER;
+		this.LEFT_FOOT_OFFSET = this.DISTANCE_TO_CENTER;
 	}
 
 }
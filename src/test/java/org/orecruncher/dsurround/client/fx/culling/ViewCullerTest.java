@@ -0,0 +1,136 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.culling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks the cell classification of ViewCuller against a camera at a known
+ * position looking down the +Z axis.
+ */
+public class ViewCullerTest {
+
+	private static final double EYE_X = 0.5D;
+	private static final double EYE_Y = 64.5D;
+	private static final double EYE_Z = 0.5D;
+	private static final double HALF_ANGLE = Math.toRadians(45);
+	private static final double RANGE = 64D;
+	private static final double REDUCED = 32D;
+
+	private static ViewCuller culler() {
+		final ViewCuller culler = new ViewCuller();
+		culler.setView(EYE_X, EYE_Y, EYE_Z, 0, 0, 1, HALF_ANGLE, RANGE, REDUCED);
+		return culler;
+	}
+
+	@Test
+	public void inFrontIsVisible() {
+		assertEquals(ViewCuller.VISIBLE, culler().classify(EYE_X, EYE_Y, EYE_Z + 16));
+	}
+
+	@Test
+	public void behindIsCulled() {
+		assertEquals(ViewCuller.CULLED, culler().classify(EYE_X, EYE_Y, EYE_Z - 24));
+	}
+
+	@Test
+	public void outsideConeIsCulled() {
+		// 60 degrees off the look vector
+		final double d = 40D;
+		final double a = Math.toRadians(60);
+		assertEquals(ViewCuller.CULLED, culler().classify(EYE_X + d * Math.sin(a), EYE_Y, EYE_Z + d * Math.cos(a)));
+	}
+
+	@Test
+	public void cellStraddlingConeEdgeIsVisible() {
+		// Center just outside the cone but the cell reaches into it
+		final double d = 24D;
+		final double a = HALF_ANGLE + Math.toRadians(5);
+		final int result = culler().classify(EYE_X + d * Math.sin(a), EYE_Y, EYE_Z + d * Math.cos(a));
+		assertTrue(result != ViewCuller.CULLED);
+	}
+
+	@Test
+	public void distanceLevels() {
+		final ViewCuller culler = culler();
+		assertEquals(ViewCuller.VISIBLE, culler.classify(EYE_X, EYE_Y, EYE_Z + 20));
+		assertEquals(ViewCuller.REDUCED, culler.classify(EYE_X, EYE_Y, EYE_Z + 48));
+		assertEquals(ViewCuller.CULLED, culler.classify(EYE_X, EYE_Y, EYE_Z + 90));
+	}
+
+	@Test
+	public void cameraCellIsAlwaysVisible() {
+		final ViewCuller culler = new ViewCuller();
+		culler.setView(EYE_X, EYE_Y, EYE_Z, 0, 0, 1, Math.toRadians(1), 0.5D, 0.5D);
+		// Behind the camera and past the maximum distance, but in the same cell
+		assertEquals(ViewCuller.VISIBLE, culler.classify(0.1D, 64.1D, 0.1D));
+	}
+
+	@Test
+	public void negativeCoordinatesUseTheirOwnCell() {
+		// -0.5 lies in the cell below zero, which contains the camera
+		final ViewCuller culler = new ViewCuller();
+		culler.setView(-4D, 64.5D, -4D, 0, 0, 1, Math.toRadians(1), RANGE, REDUCED);
+		assertEquals(ViewCuller.VISIBLE, culler.classify(-0.5D, 64.5D, -0.5D));
+		assertEquals(culler.classifyCell(-1, 8, -1), culler.classify(-0.5D, 64.5D, -0.5D));
+	}
+
+	@Test
+	public void defaultViewCullsNothing() {
+		final ViewCuller culler = new ViewCuller();
+		assertEquals(ViewCuller.VISIBLE, culler.classify(1000, -1000, 1000));
+		assertEquals(ViewCuller.VISIBLE, culler.classify(-1000, 1000, -1000));
+	}
+
+	@Test
+	public void countsAndReset() {
+		final ViewCuller culler = culler();
+		culler.classify(EYE_X, EYE_Y, EYE_Z + 16);
+		culler.classify(EYE_X, EYE_Y, EYE_Z + 17);
+		culler.classify(EYE_X, EYE_Y, EYE_Z - 24);
+		assertEquals(3, culler.getTested());
+		assertEquals(1, culler.getCulled());
+
+		culler.setView(EYE_X, EYE_Y, EYE_Z, 0, 0, -1, HALF_ANGLE, RANGE, REDUCED);
+		assertEquals(0, culler.getTested());
+		// Remembered results were dropped along with the old view
+		assertEquals(ViewCuller.VISIBLE, culler.classify(EYE_X, EYE_Y, EYE_Z - 24));
+		assertEquals(ViewCuller.CULLED, culler.classify(EYE_X, EYE_Y, EYE_Z + 16));
+	}
+
+	@Test
+	public void sphereInCone() {
+		final ViewCuller culler = culler();
+		assertTrue(culler.sphereInCone(0, 0, 10, 10, 1));
+		assertFalse(culler.sphereInCone(0, 0, -10, 10, 1));
+		// Camera inside the sphere
+		assertTrue(culler.sphereInCone(0, 0, -1, 1, 2));
+	}
+
+}
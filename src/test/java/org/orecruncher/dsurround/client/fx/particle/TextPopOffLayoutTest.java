@@ -0,0 +1,149 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+/**
+ * Checks the glyph quads TextPopOffLayout produces and the LRU it keeps them
+ * in, using fixed glyph widths in place of a FontRenderer.
+ */
+public class TextPopOffLayoutTest {
+
+	private static final float PAGE_SIZE = 128F;
+	private static final float GLYPH_HEIGHT = 7.99F;
+
+	@Test
+	public void quadsFollowGlyphWidths() {
+		final TextPopOffLayout layout = TextPopOffLayout.get(new FixedMetrics(), "1 2");
+		// '1' and '2' are 6 wide, a space is 4 wide
+		assertEquals(-7F, layout.drawX, 0F);
+		assertEquals(-3F, layout.drawY, 0F);
+		assertTrue(layout.hasQuads());
+
+		// Spaces only advance the pen
+		final float[] q = layout.quads;
+		assertEquals(2 * 16, q.length);
+		assertCorner(q, 0, -7F, -3F, 8 / PAGE_SIZE, 24 / PAGE_SIZE);
+		assertCorner(q, 2, -7F + 4.99F, -3F + GLYPH_HEIGHT, (8 + 4.99F) / PAGE_SIZE,
+				(24 + GLYPH_HEIGHT) / PAGE_SIZE);
+		assertCorner(q, 4, -7F + 6 + 4, -3F, 16 / PAGE_SIZE, 24 / PAGE_SIZE);
+	}
+
+	@Test
+	public void textOffTheAsciiPageFallsBack() {
+		final FixedMetrics metrics = new FixedMetrics();
+		assertFalse(TextPopOffLayout.get(metrics, "\u00e9").hasQuads());
+		assertFalse(TextPopOffLayout.get(metrics, "\u00a7c5").hasQuads());
+
+		metrics.ascii = false;
+		final TextPopOffLayout layout = TextPopOffLayout.get(metrics, "5");
+		assertFalse(layout.hasQuads());
+		assertEquals(-2F, layout.drawX, 0F);
+	}
+
+	@Test
+	public void layoutsAreReused() {
+		final FixedMetrics metrics = new FixedMetrics();
+		final TextPopOffLayout layout = TextPopOffLayout.get(metrics, "12");
+		assertSame(layout, TextPopOffLayout.get(metrics, "12"));
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() {
+		final FixedMetrics metrics = new FixedMetrics();
+		final TextPopOffLayout first = TextPopOffLayout.get(metrics, "0");
+		final TextPopOffLayout second = TextPopOffLayout.get(metrics, "1");
+		for (int i = 2; i < TextPopOffLayout.CACHE_SIZE; i++)
+			TextPopOffLayout.get(metrics, Integer.toString(i));
+
+		// Using the first one again makes the second the eldest
+		assertSame(first, TextPopOffLayout.get(metrics, "0"));
+		TextPopOffLayout.get(metrics, "overflow");
+		assertSame(first, TextPopOffLayout.get(metrics, "0"));
+		assertNotSame(second, TextPopOffLayout.get(metrics, "1"));
+	}
+
+	@Test
+	public void metricsChangeFlushesCache() {
+		final FixedMetrics metrics = new FixedMetrics();
+		final TextPopOffLayout layout = TextPopOffLayout.get(metrics, "12");
+		assertNotSame(layout, TextPopOffLayout.get(new FixedMetrics(), "12"));
+
+		final TextPopOffLayout again = TextPopOffLayout.get(metrics, "12");
+		metrics.ascii = false;
+		final TextPopOffLayout unicode = TextPopOffLayout.get(metrics, "12");
+		assertNotSame(again, unicode);
+		assertFalse(unicode.hasQuads());
+	}
+
+	private static void assertCorner(@Nonnull final float[] q, final int corner, final float x, final float y,
+			final float u, final float v) {
+		final int i = corner * 4;
+		assertEquals("x", x, q[i], 1E-5F);
+		assertEquals("y", y, q[i + 1], 1E-5F);
+		assertEquals("u", u, q[i + 2], 1E-5F);
+		assertEquals("v", v, q[i + 3], 1E-5F);
+	}
+
+	/**
+	 * Every glyph is 6 wide except a space, which is 4, on a 9 high font.
+	 */
+	private static final class FixedMetrics implements IGlyphMetrics {
+
+		boolean ascii = true;
+
+		@Override
+		public int getStringWidth(@Nonnull final String text) {
+			int width = 0;
+			for (int i = 0; i < text.length(); i++)
+				width += getCharWidth(text.charAt(i));
+			return width;
+		}
+
+		@Override
+		public int getCharWidth(final char c) {
+			return c == ' ' ? 4 : 6;
+		}
+
+		@Override
+		public int getFontHeight() {
+			return 9;
+		}
+
+		@Override
+		public boolean usesAsciiPage() {
+			return this.ascii;
+		}
+	}
+}
@@ -0,0 +1,279 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+import org.orecruncher.dsurround.client.fx.culling.ViewCuller;
+import org.orecruncher.lib.collections.ObjectArray;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.entity.Entity;
+
+/**
+ * Checks that the quads MoteVertexCache keeps between frames are the same as
+ * the ones a fresh cache would write, and that only motes that changed are
+ * rewritten.
+ */
+public class MoteVertexCacheTest {
+
+	private static final double VIEW_X = 100.5D;
+	private static final double VIEW_Y = 64.62D;
+	private static final double VIEW_Z = -40.5D;
+
+	@Test
+	public void incrementalMatchesFresh() {
+		final Random random = new Random(42L);
+		final ObjectArray<IParticleMote> motes = new ObjectArray<>();
+		final MoteVertexCache cache = new MoteVertexCache(4);
+		add(motes, random, 50);
+
+		for (int round = 0; round < 20; round++) {
+			for (final IParticleMote m : motes) {
+				final TestMote mote = (TestMote) m;
+				final int roll = random.nextInt(10);
+				if (roll == 0)
+					mote.kill();
+				else if (roll == 1)
+					mote.change(random);
+			}
+			compact(motes, cache);
+			add(motes, random, random.nextInt(10));
+
+			final ByteBuffer data = cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+			final ByteBuffer fresh = new MoteVertexCache().rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+			assertEquals("round " + round, fresh, data);
+		}
+	}
+
+	@Test
+	public void rewritesOnlyChangedMotes() {
+		final Random random = new Random(42L);
+		final ObjectArray<IParticleMote> motes = new ObjectArray<>();
+		final MoteVertexCache cache = new MoteVertexCache();
+		add(motes, random, 20);
+
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(20 * MoteVertexCache.QUAD_BYTES, cache.getBytesRewritten());
+
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(0, cache.getBytesRewritten());
+
+		((TestMote) motes.get(3)).change(random);
+		((TestMote) motes.get(11)).change(random);
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(2 * MoteVertexCache.QUAD_BYTES, cache.getBytesRewritten());
+
+		// Survivors keep their quads when dead motes are compacted away
+		motes.get(0).kill();
+		motes.get(7).kill();
+		compact(motes, cache);
+		add(motes, random, 3);
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(3 * MoteVertexCache.QUAD_BYTES, cache.getBytesRewritten());
+
+		cache.invalidate();
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(motes.size() * MoteVertexCache.QUAD_BYTES, cache.getBytesRewritten());
+	}
+
+	@Test
+	public void compactKeepsSurvivorsInOrder() {
+		final Random random = new Random(42L);
+		final ObjectArray<IParticleMote> motes = new ObjectArray<>();
+		final MoteVertexCache cache = new MoteVertexCache();
+		add(motes, random, 10);
+		final IParticleMote[] before = new IParticleMote[motes.size()];
+		for (int i = 0; i < before.length; i++)
+			before[i] = motes.get(i);
+
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		before[0].kill();
+		before[4].kill();
+		before[5].kill();
+		compact(motes, cache);
+
+		assertEquals(7, motes.size());
+		int i = 0;
+		for (final IParticleMote mote : before)
+			if (mote.isAlive())
+				assertSame(mote, motes.get(i++));
+
+		// Nothing changed so the survivors have to be served from their moved slots
+		final ByteBuffer data = cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(0, cache.getBytesRewritten());
+		assertEquals(new MoteVertexCache().rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null), data);
+	}
+
+	@Test
+	public void rebasesWhenViewerDrifts() {
+		final Random random = new Random(42L);
+		final ObjectArray<IParticleMote> motes = new ObjectArray<>();
+		final MoteVertexCache cache = new MoteVertexCache();
+		add(motes, random, 20);
+
+		cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		final double originX = cache.getOriginX();
+		assertEquals(Math.floor(VIEW_X), originX, 0D);
+
+		// Within range the origin stays put and nothing is rewritten
+		cache.rebuild(motes, 0.5F, VIEW_X + 100D, VIEW_Y, VIEW_Z, null);
+		assertEquals(originX, cache.getOriginX(), 0D);
+		assertEquals(0, cache.getBytesRewritten());
+
+		final ByteBuffer data = cache.rebuild(motes, 0.5F, VIEW_X + 200D, VIEW_Y, VIEW_Z, null);
+		assertNotEquals(originX, cache.getOriginX(), 0D);
+		assertEquals(motes.size() * MoteVertexCache.QUAD_BYTES, cache.getBytesRewritten());
+		final ByteBuffer fresh = new MoteVertexCache().rebuild(motes, 0.5F, VIEW_X + 200D, VIEW_Y, VIEW_Z, null);
+		assertEquals(fresh, data);
+	}
+
+	@Test
+	public void culledMotesAreLeftOut() {
+		final Random random = new Random(42L);
+		final ObjectArray<IParticleMote> motes = new ObjectArray<>();
+		final MoteVertexCache cache = new MoteVertexCache();
+		add(motes, random, 40);
+
+		// Looking down +Z with a narrow view; about half the motes are behind
+		final ViewCuller culler = new ViewCuller();
+		culler.setView(VIEW_X, VIEW_Y, VIEW_Z, 0, 0, 1, Math.toRadians(30), 128, 128);
+
+		final ObjectArray<IParticleMote> inView = new ObjectArray<>();
+		for (final IParticleMote mote : motes)
+			if (mote.isVisible(culler))
+				inView.add(mote);
+		assertTrue(inView.size() > 0 && inView.size() < motes.size());
+
+		final ByteBuffer data = cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, culler);
+		final ByteBuffer expected = new MoteVertexCache().rebuild(inView, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(expected, data);
+
+		// Culled motes stay cached; with everything in view nothing is rewritten
+		final ByteBuffer all = cache.rebuild(motes, 0.5F, VIEW_X, VIEW_Y, VIEW_Z, null);
+		assertEquals(0, cache.getBytesRewritten());
+		assertEquals(motes.size() * MoteVertexCache.QUAD_BYTES, all.limit());
+	}
+
+	private static void add(@Nonnull final ObjectArray<IParticleMote> motes, @Nonnull final Random random,
+			final int count) {
+		for (int i = 0; i < count; i++) {
+			final double x = VIEW_X + (random.nextDouble() - 0.5D) * 64D;
+			final double y = Math.floor(VIEW_Y) + random.nextInt(4);
+			final double z = VIEW_Z + (random.nextDouble() - 0.5D) * 64D;
+			final TestMote mote = new TestMote(x, y, z);
+			mote.change(random);
+			motes.add(mote);
+		}
+	}
+
+	private static void compact(@Nonnull final ObjectArray<IParticleMote> motes,
+			@Nonnull final MoteVertexCache cache) {
+		cache.compact(motes, mote -> !mote.isAlive());
+	}
+
+	/**
+	 * Stationary quad whose color changes when told to.
+	 */
+	private static final class TestMote implements ICachedMote {
+
+		private final double posX;
+		private final double posY;
+		private final double posZ;
+		private int color;
+		private boolean changed;
+		private boolean alive = true;
+
+		TestMote(final double x, final double y, final double z) {
+			this.posX = x;
+			this.posY = y;
+			this.posZ = z;
+		}
+
+		void change(@Nonnull final Random random) {
+			this.color = random.nextInt();
+			this.changed = true;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return this.alive;
+		}
+
+		@Override
+		public void kill() {
+			this.alive = false;
+		}
+
+		@Override
+		public void onUpdate() {
+
+		}
+
+		@Override
+		public boolean isVisible(@Nonnull final ViewCuller culler) {
+			return culler.classify(this.posX, this.posY, this.posZ) != ViewCuller.CULLED;
+		}
+
+		@Override
+		public boolean prepareRender(final float partialTicks) {
+			final boolean result = this.changed;
+			this.changed = false;
+			return result;
+		}
+
+		@Override
+		public void writeVertices(@Nonnull final MoteVertexCache cache, final double originX,
+				final double originY, final double originZ) {
+			final float x = (float) (this.posX - originX);
+			final float y = (float) (this.posY - originY);
+			final float z = (float) (this.posZ - originZ);
+			final int r = this.color >> 24 & 255;
+			final int g = this.color >> 16 & 255;
+			final int b = this.color >> 8 & 255;
+			final int a = this.color & 255;
+			cache.vertex(x - 0.5F, y, z + 0.5F, 1F, 1F, r, g, b, a, 240, 0);
+			cache.vertex(x + 0.5F, y, z + 0.5F, 1F, 0F, r, g, b, a, 240, 0);
+			cache.vertex(x + 0.5F, y, z - 0.5F, 0F, 0F, r, g, b, a, 240, 0);
+			cache.vertex(x - 0.5F, y, z - 0.5F, 0F, 1F, r, g, b, a, 240, 0);
+		}
+
+		@Override
+		public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+				final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		}
+	}
+
+}
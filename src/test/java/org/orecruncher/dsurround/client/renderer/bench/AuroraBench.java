@@ -0,0 +1,226 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.aurora.AuroraBand;
+import org.orecruncher.dsurround.client.aurora.AuroraColor;
+import org.orecruncher.dsurround.client.aurora.AuroraFactory;
+import org.orecruncher.dsurround.client.aurora.AuroraFactory.AuroraGeometry;
+import org.orecruncher.dsurround.client.aurora.AuroraLifeTracker;
+import org.orecruncher.dsurround.client.aurora.AuroraMesh;
+import org.orecruncher.dsurround.client.aurora.AuroraUtils;
+import org.orecruncher.dsurround.client.aurora.IAurora;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Runs auroras through whole nights the way AuroraEffectHandler does. The
+ * conditions for an aurora come and go on a seeded schedule, as they do when
+ * a player wanders in and out of aurora biomes, so auroras spawn, fade,
+ * recover and despawn along the way. Spawning is timed apart from the tick
+ * since that is where the one off work of an aurora goes. Where the JVM
+ * supports it the bytes allocated by the tick are counted as well. The
+ * auroras are classic auroras without the player and GL state, which the real
+ * ones pick up when constructed and rendered.
+ */
+@SideOnly(Side.CLIENT)
+public final class AuroraBench {
+
+	static final long SEED = 0x5EEDL;
+
+	// Sunset through the end of the night
+	static final int NIGHT_TICKS = 11000;
+	private static final int MIN_SPELL = AuroraUtils.AURORA_PEAK_AGE / 2;
+	private static final int MAX_SPELL = AuroraUtils.AURORA_PEAK_AGE * 4;
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	public static final class Report {
+		public int nights;
+		public int ticks;
+		public int spawns;
+		public int despawns;
+		public int fades;
+		public int recoveries;
+		public long tickNanos;
+		public long spawnNanos;
+		public long allocated = -1;
+		public int pooled;
+
+		@Override
+		@Nonnull
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			builder.append(String.format(Locale.ROOT, "nights: %d, ticks: %d%n", this.nights, this.ticks));
+			builder.append(String.format(Locale.ROOT, "spawns: %d, despawns: %d, fades: %d, recoveries: %d%n",
+					this.spawns, this.despawns, this.fades, this.recoveries));
+			builder.append(String.format(Locale.ROOT, "tick: %.3fus avg, %.3fms total%n",
+					this.tickNanos / 1000D / Math.max(1, this.ticks), this.tickNanos / 1000000D));
+			builder.append(String.format(Locale.ROOT, "spawn: %.3fms avg%n",
+					this.spawnNanos / 1000000D / Math.max(1, this.spawns)));
+			if (this.allocated >= 0)
+				builder.append(String.format(Locale.ROOT, "tick allocated: %d bytes%n", this.allocated));
+			else
+				builder.append(String.format(Locale.ROOT, "tick allocated: n/a%n"));
+			builder.append(String.format(Locale.ROOT, "pooled bands: %d", this.pooled));
+			return builder.toString();
+		}
+	}
+
+	private static long allocated() {
+		if (THREADS instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+		return -1;
+	}
+
+	@Nonnull
+	public Report run(final int nights) {
+		final Report report = new Report();
+		report.nights = nights;
+		final Random random = new XorShiftRandom(SEED);
+		final boolean counting = allocated() >= 0;
+		if (counting)
+			report.allocated = 0;
+
+		IAurora current = null;
+		for (int night = 0; night < nights; night++) {
+			boolean canStay = true;
+			int spell = MIN_SPELL + random.nextInt(MAX_SPELL - MIN_SPELL);
+
+			for (int tick = 0; tick < NIGHT_TICKS; tick++) {
+				if (--spell == 0) {
+					canStay = !canStay;
+					spell = MIN_SPELL + random.nextInt(MAX_SPELL - MIN_SPELL);
+				}
+				// Dawn
+				if (tick >= NIGHT_TICKS - AuroraUtils.AURORA_PEAK_AGE)
+					canStay = false;
+
+				final long mark = counting ? allocated() : 0;
+				final long start = System.nanoTime();
+				if (current != null) {
+					if (current.isComplete()) {
+						current.release();
+						current = null;
+						report.despawns++;
+					} else {
+						current.update();
+						final boolean isDying = current.isDying();
+						if (isDying && canStay) {
+							current.setFading(false);
+							report.recoveries++;
+						} else if (!isDying && !canStay) {
+							current.setFading(true);
+							report.fades++;
+						}
+					}
+				}
+				report.tickNanos += System.nanoTime() - start;
+				if (counting)
+					report.allocated += allocated() - mark;
+				report.ticks++;
+
+				if (current == null && canStay) {
+					final long spawnStart = System.nanoTime();
+					current = new HeadlessAurora(random.nextLong());
+					report.spawnNanos += System.nanoTime() - spawnStart;
+					report.spawns++;
+				}
+			}
+		}
+
+		if (current != null) {
+			current.release();
+			report.despawns++;
+		}
+
+		report.pooled = AuroraFactory.getPooledBands();
+		return report;
+	}
+
+	/**
+	 * Does what AuroraClassic does on a tick, and builds the same band and mesh
+	 * when spawned. Rendering only animates the mesh.
+	 */
+	private static final class HeadlessAurora implements IAurora {
+
+		private final AuroraBand band;
+		private final AuroraMesh mesh;
+		private final AuroraLifeTracker tracker;
+
+		HeadlessAurora(final long seed) {
+			final Random random = new XorShiftRandom(seed);
+			final AuroraColor colors = AuroraColor.get(random);
+			this.band = new AuroraBand(random, AuroraGeometry.get(random));
+			this.mesh = new AuroraMesh(this.band, colors.baseColor, colors.fadeColor);
+			this.tracker = new AuroraLifeTracker(AuroraUtils.AURORA_PEAK_AGE, AuroraUtils.AURORA_AGE_RATE);
+		}
+
+		@Override
+		public boolean isAlive() {
+			return this.tracker.isAlive();
+		}
+
+		@Override
+		public void setFading(final boolean flag) {
+			this.tracker.setFading(flag);
+		}
+
+		@Override
+		public boolean isDying() {
+			return this.tracker.isFading();
+		}
+
+		@Override
+		public void update() {
+			this.tracker.update();
+			this.band.update();
+		}
+
+		@Override
+		public boolean isComplete() {
+			return !isAlive();
+		}
+
+		@Override
+		public void render(final float partialTick) {
+			this.mesh.animate(this.band.getCycle(), this.tracker.ageRatio() * this.band.getAlphaLimit() / 255);
+		}
+
+		@Override
+		public void release() {
+			this.band.release();
+		}
+	}
+}
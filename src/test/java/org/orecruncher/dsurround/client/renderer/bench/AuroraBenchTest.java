@@ -0,0 +1,67 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Runs auroras through whole nights with the aurora bench. The seeded
+ * schedule has to spawn, fade, recover and despawn auroras, and every band
+ * that goes away has to hand its panels back to the pool.
+ */
+public class AuroraBenchTest {
+
+	private static final int NIGHTS = 3;
+
+	@Test
+	public void lifeCycle() {
+		final AuroraBench.Report report = new AuroraBench().run(NIGHTS);
+		assertEquals(NIGHTS * AuroraBench.NIGHT_TICKS, report.ticks);
+		assertTrue(report.spawns > NIGHTS);
+		assertTrue(report.recoveries > 0);
+		// Every aurora fades out before it goes away and none are left over
+		assertEquals(report.spawns, report.despawns);
+		assertTrue(report.fades >= report.despawns);
+	}
+
+	@Test
+	public void bandsAreReused() {
+		final AuroraBench.Report report = new AuroraBench().run(NIGHTS);
+		assertTrue(report.pooled > 0);
+	}
+
+	@Test
+	public void deterministic() {
+		final AuroraBench.Report first = new AuroraBench().run(NIGHTS);
+		final AuroraBench.Report second = new AuroraBench().run(NIGHTS);
+		assertEquals(first.spawns, second.spawns);
+		assertEquals(first.despawns, second.despawns);
+		assertEquals(first.fades, second.fades);
+		assertEquals(first.recoveries, second.recoveries);
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+
+import org.lwjgl.opengl.GL11;
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.client.aurora.AuroraBand;
+import org.orecruncher.dsurround.client.aurora.AuroraColor;
+import org.orecruncher.dsurround.client.aurora.AuroraFactory.AuroraGeometry;
+import org.orecruncher.dsurround.client.aurora.AuroraMesh;
+import org.orecruncher.dsurround.client.fx.particle.mote.IParticleMote;
+import org.orecruncher.dsurround.client.fx.particle.mote.MoteVertexCache;
+import org.orecruncher.dsurround.client.renderer.weather.PrecipitationColumnCache;
+import org.orecruncher.dsurround.client.renderer.weather.PrecipitationColumns;
+import org.orecruncher.dsurround.client.renderer.weather.PrecipitationMesh;
+import org.orecruncher.lib.collections.ObjectArray;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Runs scripted scenes through the weather, aurora and mote geometry
+ * producers and captures what they would have sent to the GPU. Scenes are
+ * seeded so the same build gives the same geometry run to run. The checksum in
+ * the report changes only when the produced geometry changes. None of the
+ * scenes needs a world or a GL context so the bench runs as a plain unit test.
+ * The ripple scene uses synthetic ripples in place of MoteWaterRipple, which
+ * samples the world for water color and light.
+ */
+@SideOnly(Side.CLIENT)
+public final class GeometryBench {
+
+	static final long SEED = 0x5EEDL;
+
+	static final int RAIN_RANGE = 10;
+	static final int AURORA_BANDS = 3;
+	private static final float AURORA_OFFSET = 30F;
+	static final int RIPPLES = 4000;
+	private static final int RIPPLE_RANGE = 32;
+	private static final int RIPPLE_Y = 64;
+	// Frames rendered per client tick; ripples only change on a tick
+	private static final int FRAMES_PER_TICK = 3;
+
+	private final GeometryCapture capture = new GeometryCapture();
+
+	public static final class Report {
+		public int frames;
+		public final ObjectArray<VertexStats> stats = new ObjectArray<>(4);
+
+		@Override
+		@Nonnull
+		public String toString() {
+			final StringBuilder builder = new StringBuilder();
+			builder.append(String.format(Locale.ROOT, "frames: %d%n", this.frames));
+			for (final VertexStats s : this.stats)
+				builder.append(s.toString()).append(System.lineSeparator());
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * Runs each scene for the specified number of frames. Coverage is sampled on
+	 * the last frame.
+	 */
+	@Nonnull
+	public Report run(final int frames) {
+		final Report report = new Report();
+		report.frames = frames;
+		report.stats.add(rain(frames));
+		report.stats.add(aurora(frames));
+		report.stats.add(ripples(frames));
+		return report;
+	}
+
+	@Nonnull
+	private VertexStats rain(final int frames) {
+		final VertexStats stats = new VertexStats("Heavy rain, range " + RAIN_RANGE, VertexStats.Plane.XY);
+		final PrecipitationColumnCache columns = new PrecipitationColumnCache(RAIN_RANGE);
+		PrecipitationColumns.fill(columns, 0, 0, RAIN_RANGE, PrecipitationType.RAIN, 64 - RAIN_RANGE, 64 + RAIN_RANGE,
+				15728880);
+		final PrecipitationMesh mesh = new PrecipitationMesh();
+		mesh.rebuild(columns);
+
+		for (int frame = 0; frame < frames; frame++) {
+			stats.setSampling(frame == frames - 1);
+			final long start = System.nanoTime();
+			final ByteBuffer data = mesh.animateRain(frame, 0.5F, 0.5D, 0.5D, RAIN_RANGE, 1F);
+			final BufferBuilder buffer = this.capture.begin(GL11.GL_QUADS,
+					DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+			buffer.putBulkData(data);
+			stats.frame(System.nanoTime() - start);
+			this.capture.end(stats,
+					this.capture.transform(mesh.getOriginX(), 0, mesh.getOriginZ(), 1, 1, 1));
+		}
+
+		stats.finish();
+		return stats;
+	}
+
+	@Nonnull
+	private VertexStats aurora(final int frames) {
+		final VertexStats stats = new VertexStats("Aurora, " + AURORA_BANDS + " bands", VertexStats.Plane.XY);
+		final Random random = new XorShiftRandom(SEED);
+		final AuroraBand band = new AuroraBand(random, AuroraGeometry.get(random));
+		final AuroraColor colors = AuroraColor.get(random);
+		final AuroraMesh mesh = new AuroraMesh(band, colors.baseColor, colors.fadeColor);
+
+		for (int frame = 0; frame < frames; frame++) {
+			stats.setSampling(frame == frames - 1);
+			band.update();
+			long start = System.nanoTime();
+			final ByteBuffer data = mesh.animate(band.getCycle(), 0.5F);
+			long elapsed = System.nanoTime() - start;
+			for (int b = 0; b < AURORA_BANDS; b++) {
+				start = System.nanoTime();
+				data.position(0);
+				final BufferBuilder buffer = this.capture.begin(GL11.GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
+				buffer.putBulkData(data);
+				elapsed += System.nanoTime() - start;
+				this.capture.end(stats, this.capture.transform(0, 0, AURORA_OFFSET * b, 0.5D, 8.0D, 0.5D));
+			}
+			stats.frame(elapsed);
+		}
+
+		stats.finish();
+		return stats;
+	}
+
+	@Nonnull
+	private VertexStats ripples(final int frames) {
+		final VertexStats stats = new VertexStats(RIPPLES + " ripples", VertexStats.Plane.XZ);
+		final Random random = new XorShiftRandom(SEED);
+		final ObjectArray<IParticleMote> motes = new ObjectArray<>(RIPPLES);
+		for (int i = 0; i < RIPPLES; i++)
+			motes.add(SyntheticRipple.spawn(random, RIPPLE_RANGE, RIPPLE_Y, true));
+
+		final Predicate<IParticleMote> dead = mote -> !mote.isAlive();
+		final MoteVertexCache cache = new MoteVertexCache(RIPPLES);
+		final double viewX = 0.5D;
+		final double viewY = RIPPLE_Y + 1.62D;
+		final double viewZ = 0.5D;
+
+		for (int frame = 0; frame < frames; frame++) {
+			// Same as a ParticleCollection tick: age, drop the expired ripples and
+			// replace them so the population stays steady
+			if (frame > 0 && frame % FRAMES_PER_TICK == 0) {
+				for (final IParticleMote mote : motes)
+					mote.onUpdate();
+				cache.compact(motes, dead);
+				while (motes.size() < RIPPLES)
+					motes.add(SyntheticRipple.spawn(random, RIPPLE_RANGE, RIPPLE_Y, false));
+			}
+
+			stats.setSampling(frame == frames - 1);
+			final long start = System.nanoTime();
+			final ByteBuffer data = cache.rebuild(motes, 0.5F, viewX, viewY, viewZ, null);
+			final BufferBuilder buffer = this.capture.begin(GL11.GL_QUADS,
+					DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+			buffer.putBulkData(data);
+			stats.frame(System.nanoTime() - start);
+			this.capture.end(stats, this.capture.transform(cache.getOriginX() - viewX, cache.getOriginY() - viewY,
+					cache.getOriginZ() - viewZ, 1, 1, 1));
+		}
+
+		stats.finish();
+		return stats;
+	}
+}
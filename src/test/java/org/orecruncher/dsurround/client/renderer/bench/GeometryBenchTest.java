@@ -0,0 +1,135 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+import org.orecruncher.dsurround.client.aurora.AuroraBand;
+import org.orecruncher.dsurround.client.aurora.AuroraColor;
+import org.orecruncher.dsurround.client.aurora.AuroraFactory.AuroraGeometry;
+import org.orecruncher.dsurround.client.aurora.AuroraMesh;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+/**
+ * Drives the scenes of the geometry bench. Vertex counts are
+ * checked against what the scenes should produce. Checksums are compared with
+ * the baselines in geometry-baselines.properties; a scene without a baseline
+ * has its checksum written to build/geometry-baselines.properties and the
+ * comparison is skipped so the value can be reviewed and copied over.
+ */
+public class GeometryBenchTest {
+
+	private static final int FRAMES = 16;
+	private static final int RAIN = 0;
+	private static final int AURORA = 1;
+	private static final int RIPPLES = 2;
+
+	private static final String BASELINES = "/geometry-baselines.properties";
+	private static final File RECORDED = new File("build", "geometry-baselines.properties");
+
+	@Test
+	public void rainVertexCount() {
+		final VertexStats stats = new GeometryBench().run(FRAMES).stats.get(RAIN);
+		final int side = GeometryBench.RAIN_RANGE * 2 + 1;
+		assertEquals(FRAMES, stats.getFrames());
+		assertEquals((long) FRAMES * side * side * 4, stats.getVertices());
+	}
+
+	@Test
+	public void auroraVertexCount() {
+		final VertexStats stats = new GeometryBench().run(FRAMES).stats.get(AURORA);
+		final Random random = new XorShiftRandom(GeometryBench.SEED);
+		final AuroraBand band = new AuroraBand(random, AuroraGeometry.get(random));
+		final AuroraColor colors = AuroraColor.get(random);
+		final int perBand = new AuroraMesh(band, colors.baseColor, colors.fadeColor).getVertexCount();
+		assertEquals(FRAMES, stats.getFrames());
+		assertEquals((long) FRAMES * GeometryBench.AURORA_BANDS * perBand, stats.getVertices());
+	}
+
+	@Test
+	public void rippleVertexCount() {
+		final VertexStats stats = new GeometryBench().run(FRAMES).stats.get(RIPPLES);
+		assertEquals(FRAMES, stats.getFrames());
+		assertEquals((long) FRAMES * GeometryBench.RIPPLES * 4, stats.getVertices());
+	}
+
+	@Test
+	public void deterministic() {
+		final GeometryBench.Report first = new GeometryBench().run(FRAMES);
+		final GeometryBench.Report second = new GeometryBench().run(FRAMES);
+		assertEquals(first.stats.get(RAIN).getCrc(), second.stats.get(RAIN).getCrc());
+		assertEquals(first.stats.get(AURORA).getCrc(), second.stats.get(AURORA).getCrc());
+		assertEquals(first.stats.get(RIPPLES).getCrc(), second.stats.get(RIPPLES).getCrc());
+	}
+
+	@Test
+	public void baselines() throws IOException {
+		final GeometryBench.Report report = new GeometryBench().run(FRAMES);
+		final Properties expected = new Properties();
+		try (final InputStream stream = GeometryBenchTest.class.getResourceAsStream(BASELINES)) {
+			if (stream != null)
+				expected.load(stream);
+		}
+
+		final Properties missing = new Properties();
+		for (final VertexStats stats : report.stats) {
+			final String key = key(stats);
+			final String actual = String.format(Locale.ROOT, "%08x", stats.getCrc());
+			final String baseline = expected.getProperty(key);
+			if (baseline == null)
+				missing.setProperty(key, actual);
+			else
+				assertEquals(stats.getName(), baseline, actual);
+		}
+
+		if (!missing.isEmpty()) {
+			RECORDED.getParentFile().mkdirs();
+			try (final OutputStream stream = Files.newOutputStream(RECORDED.toPath())) {
+				missing.store(stream, "Checksums for scenes without a baseline");
+			}
+		}
+		assumeTrue("No baseline for " + missing.stringPropertyNames() + ", recorded to " + RECORDED,
+				missing.isEmpty());
+	}
+
+	@Nonnull
+	private static String key(@Nonnull final VertexStats stats) {
+		return stats.getName().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", ".");
+	}
+
+}
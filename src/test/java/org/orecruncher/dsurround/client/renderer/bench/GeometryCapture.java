@@ -0,0 +1,89 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nonnull;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Stand-in for the Tessellator that never draws. Producers write into the
+ * buffer as they would for a real draw; end() hands the result to a
+ * VertexStats and throws it away. BufferBuilder itself is plain Java so
+ * nothing here needs a GL context.
+ */
+@SideOnly(Side.CLIENT)
+public final class GeometryCapture {
+
+	private static final double[] IDENTITY = { 0, 0, 0, 1, 1, 1 };
+
+	private final BufferBuilder buffer = new BufferBuilder(1 << 16);
+	private final double[] transform = new double[6];
+
+	@Nonnull
+	public BufferBuilder begin(final int mode, @Nonnull final VertexFormat format) {
+		this.buffer.begin(mode, format);
+		return this.buffer;
+	}
+
+	public void end(@Nonnull final VertexStats stats) {
+		end(stats, IDENTITY);
+	}
+
+	/**
+	 * Finishes the draw and records it.
+	 *
+	 * @param stats     Where the draw is recorded
+	 * @param transform Translation (x, y, z) followed by scale (x, y, z) the
+	 *                  producer would have set up for the draw
+	 */
+	public void end(@Nonnull final VertexStats stats, @Nonnull final double[] transform) {
+		this.buffer.finishDrawing();
+		final ByteBuffer data = this.buffer.getByteBuffer();
+		stats.capture(data, this.buffer.getDrawMode(), this.buffer.getVertexCount(),
+				this.buffer.getVertexFormat().getSize(), transform);
+		this.buffer.reset();
+	}
+
+	/**
+	 * Builds a transform for end().
+	 */
+	@Nonnull
+	public double[] transform(final double x, final double y, final double z, final double scaleX,
+			final double scaleY, final double scaleZ) {
+		this.transform[0] = x;
+		this.transform[1] = y;
+		this.transform[2] = z;
+		this.transform[3] = scaleX;
+		this.transform[4] = scaleY;
+		this.transform[5] = scaleZ;
+		return this.transform;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.fx.particle.mote.ICachedMote;
+import org.orecruncher.dsurround.client.fx.particle.mote.MoteVertexCache;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.entity.Entity;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Ripple that grows and fades the way MoteWaterRipple does with the default
+ * style, but without sampling a world for water color and light. Lets the
+ * bench push a rain sized population of ripples through MoteVertexCache.
+ */
+@SideOnly(Side.CLIENT)
+final class SyntheticRipple implements ICachedMote {
+
+	private static final float TEX_SIZE_HALF = 0.5F;
+	private static final int FULL_BRIGHT = 240;
+
+	private final double posX;
+	private final double posY;
+	private final double posZ;
+	private final int maxAge;
+	private final float growthRate;
+	private final int red;
+	private final int green;
+	private final int blue;
+
+	private int age;
+	private int renderedAge = -1;
+	private float scaledWidth;
+	private int alpha = 255;
+
+	private SyntheticRipple(final double x, final double y, final double z, final int maxAge, final int age,
+			final int color) {
+		this.posX = x;
+		this.posY = y - 0.2D;
+		this.posZ = z;
+		this.maxAge = maxAge;
+		this.growthRate = maxAge / 500F;
+		this.age = age;
+		this.red = color >> 16 & 255;
+		this.green = color >> 8 & 255;
+		this.blue = color & 255;
+	}
+
+	/**
+	 * Creates a ripple somewhere on a flat surface around the origin.
+	 *
+	 * @param random Source of the placement and life span
+	 * @param range  Half the width of the area ripples land in
+	 * @param y      Height of the surface
+	 * @param aged   Whether the ripple starts part way through its life, so a
+	 *               freshly filled scene does not expire all at once
+	 */
+	@Nonnull
+	static SyntheticRipple spawn(@Nonnull final Random random, final int range, final int y, final boolean aged) {
+		final double x = (random.nextDouble() - 0.5D) * range * 2;
+		final double z = (random.nextDouble() - 0.5D) * range * 2;
+		final int maxAge = 12 + random.nextInt(8);
+		final int age = aged ? random.nextInt(maxAge) : 0;
+		return new SyntheticRipple(x, y, z, maxAge, age, 0x3F76E4);
+	}
+
+	@Override
+	public boolean isAlive() {
+		return this.age <= this.maxAge;
+	}
+
+	@Override
+	public void kill() {
+		this.age = this.maxAge + 1;
+	}
+
+	@Override
+	public void onUpdate() {
+		this.age++;
+	}
+
+	@Override
+	public boolean prepareRender(final float partialTicks) {
+		if (this.age == this.renderedAge)
+			return false;
+		this.renderedAge = this.age;
+		this.scaledWidth = this.growthRate * (this.age + 1) * TEX_SIZE_HALF;
+		if (this.age > 0)
+			this.alpha = (int) ((float) (this.maxAge - this.age) / (float) (this.maxAge + 3) * 255);
+		return true;
+	}
+
+	@Override
+	public void writeVertices(@Nonnull final MoteVertexCache cache, final double originX, final double originY,
+			final double originZ) {
+		final float x = (float) (this.posX - originX);
+		final float y = (float) (this.posY - originY);
+		final float z = (float) (this.posZ - originZ);
+		final float w = this.scaledWidth;
+
+		cache.vertex(-w + x, y, w + z, 1F, 1F, this.red, this.green, this.blue, this.alpha, FULL_BRIGHT, FULL_BRIGHT);
+		cache.vertex(w + x, y, w + z, 1F, 0F, this.red, this.green, this.blue, this.alpha, FULL_BRIGHT, FULL_BRIGHT);
+		cache.vertex(w + x, y, -w + z, 0F, 0F, this.red, this.green, this.blue, this.alpha, FULL_BRIGHT, FULL_BRIGHT);
+		cache.vertex(-w + x, y, -w + z, 0F, 1F, this.red, this.green, this.blue, this.alpha, FULL_BRIGHT, FULL_BRIGHT);
+	}
+
+	@Override
+	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+	}
+}
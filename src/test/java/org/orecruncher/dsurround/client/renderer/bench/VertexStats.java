@@ -0,0 +1,256 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.bench;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nonnull;
+
+import org.lwjgl.opengl.GL11;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Statistics about the geometry a producer wrote. Counts and time are gathered
+ * for every captured draw. When coverage sampling is on, the triangles are
+ * also projected onto a plane and rasterized into a coarse grid. The grid
+ * gives how much of the area the geometry touches, and how many times on
+ * average each touched cell gets drawn. That is the overdraw estimate.
+ */
+@SideOnly(Side.CLIENT)
+public final class VertexStats {
+
+	/**
+	 * Plane the triangles are projected onto for coverage sampling.
+	 */
+	public static enum Plane {
+		XY, XZ
+	}
+
+	private static final int GRID = 128;
+
+	private final String name;
+	private final Plane plane;
+
+	private int frames;
+	private int draws;
+	private long vertices;
+	private long bytes;
+	private long primitives;
+	private long nanos;
+	private final CRC32 crc = new CRC32();
+
+	private boolean sampling;
+	private float[] triangles = new float[6 * 1024];
+	private int triangleCount;
+
+	private int coveredCells;
+	private long fragments;
+
+	public VertexStats(@Nonnull final String name, @Nonnull final Plane plane) {
+		this.name = name;
+		this.plane = plane;
+	}
+
+	@Nonnull
+	public String getName() {
+		return this.name;
+	}
+
+	public int getFrames() {
+		return this.frames;
+	}
+
+	public long getVertices() {
+		return this.vertices;
+	}
+
+	/**
+	 * Checksum of the vertex data captured on the sampled frame.
+	 */
+	public long getCrc() {
+		return this.crc.getValue();
+	}
+
+	/**
+	 * Turns collection of triangles for coverage sampling on or off. Triangles
+	 * collected while on are rasterized by finish().
+	 */
+	public void setSampling(final boolean flag) {
+		this.sampling = flag;
+	}
+
+	public void frame(final long elapsed) {
+		this.frames++;
+		this.nanos += elapsed;
+	}
+
+	/**
+	 * Analyzes a finished draw.
+	 *
+	 * @param data       Vertex data positioned at the first vertex
+	 * @param mode       GL draw mode
+	 * @param count      Number of vertices
+	 * @param stride     Size of a vertex in bytes
+	 * @param transform  Translation (x, y, z) followed by scale (x, y, z) that
+	 *                   would be applied to the draw
+	 */
+	void capture(@Nonnull final ByteBuffer data, final int mode, final int count, final int stride,
+			@Nonnull final double[] transform) {
+		this.draws++;
+		this.vertices += count;
+		this.bytes += (long) count * stride;
+
+		final int perPrimitive = mode == GL11.GL_QUADS ? 4 : 3;
+		this.primitives += count / perPrimitive;
+
+		if (!this.sampling)
+			return;
+
+		// Only the sampled frame goes into the checksum so it does not depend on
+		// the number of frames run
+		for (int i = 0; i < count * stride; i++)
+			this.crc.update(data.get(i));
+
+		for (int p = 0; p + perPrimitive <= count; p += perPrimitive) {
+			triangle(data, stride, transform, p, p + 1, p + 2);
+			if (perPrimitive == 4)
+				triangle(data, stride, transform, p, p + 2, p + 3);
+		}
+	}
+
+	private void triangle(@Nonnull final ByteBuffer data, final int stride, @Nonnull final double[] transform,
+			final int v0, final int v1, final int v2) {
+		if ((this.triangleCount + 1) * 6 > this.triangles.length)
+			this.triangles = Arrays.copyOf(this.triangles, this.triangles.length * 2);
+		final int base = this.triangleCount * 6;
+		project(data, stride, transform, v0, base);
+		project(data, stride, transform, v1, base + 2);
+		project(data, stride, transform, v2, base + 4);
+		this.triangleCount++;
+	}
+
+	private void project(@Nonnull final ByteBuffer data, final int stride, @Nonnull final double[] transform,
+			final int vertex, final int slot) {
+		final int offset = vertex * stride;
+		final double x = transform[0] + transform[3] * data.getFloat(offset);
+		final double y = transform[1] + transform[4] * data.getFloat(offset + 4);
+		final double z = transform[2] + transform[5] * data.getFloat(offset + 8);
+		this.triangles[slot] = (float) x;
+		this.triangles[slot + 1] = (float) (this.plane == Plane.XY ? y : z);
+	}
+
+	/**
+	 * Rasterizes the sampled triangles into the coverage grid. The grid is
+	 * fitted to the bounds of the triangles.
+	 */
+	public void finish() {
+		this.coveredCells = 0;
+		this.fragments = 0;
+		if (this.triangleCount == 0)
+			return;
+
+		float minU = Float.MAX_VALUE, minV = Float.MAX_VALUE;
+		float maxU = -Float.MAX_VALUE, maxV = -Float.MAX_VALUE;
+		for (int i = 0; i < this.triangleCount * 6; i += 2) {
+			minU = Math.min(minU, this.triangles[i]);
+			maxU = Math.max(maxU, this.triangles[i]);
+			minV = Math.min(minV, this.triangles[i + 1]);
+			maxV = Math.max(maxV, this.triangles[i + 1]);
+		}
+
+		final float cellU = Math.max(maxU - minU, 1E-3F) / GRID;
+		final float cellV = Math.max(maxV - minV, 1E-3F) / GRID;
+		final int[] grid = new int[GRID * GRID];
+
+		for (int t = 0; t < this.triangleCount; t++) {
+			final int b = t * 6;
+			final float u0 = (this.triangles[b] - minU) / cellU;
+			final float v0 = (this.triangles[b + 1] - minV) / cellV;
+			final float u1 = (this.triangles[b + 2] - minU) / cellU;
+			final float v1 = (this.triangles[b + 3] - minV) / cellV;
+			final float u2 = (this.triangles[b + 4] - minU) / cellU;
+			final float v2 = (this.triangles[b + 5] - minV) / cellV;
+
+			final float area = edge(u0, v0, u1, v1, u2, v2);
+			if (area == 0F)
+				continue;
+
+			final int loU = Math.max(0, (int) Math.floor(Math.min(u0, Math.min(u1, u2))));
+			final int hiU = Math.min(GRID - 1, (int) Math.ceil(Math.max(u0, Math.max(u1, u2))));
+			final int loV = Math.max(0, (int) Math.floor(Math.min(v0, Math.min(v1, v2))));
+			final int hiV = Math.min(GRID - 1, (int) Math.ceil(Math.max(v0, Math.max(v1, v2))));
+
+			// Sample at cell centers; the sign of the area takes care of winding
+			for (int v = loV; v <= hiV; v++) {
+				final float cv = v + 0.5F;
+				for (int u = loU; u <= hiU; u++) {
+					final float cu = u + 0.5F;
+					final float w0 = edge(u1, v1, u2, v2, cu, cv) * area;
+					final float w1 = edge(u2, v2, u0, v0, cu, cv) * area;
+					final float w2 = edge(u0, v0, u1, v1, cu, cv) * area;
+					if (w0 >= 0 && w1 >= 0 && w2 >= 0)
+						grid[v * GRID + u]++;
+				}
+			}
+		}
+
+		for (final int c : grid) {
+			if (c > 0) {
+				this.coveredCells++;
+				this.fragments += c;
+			}
+		}
+
+		this.triangleCount = 0;
+	}
+
+	private static float edge(final float au, final float av, final float bu, final float bv, final float cu,
+			final float cv) {
+		return (bu - au) * (cv - av) - (bv - av) * (cu - au);
+	}
+
+	public double coverage() {
+		return (double) this.coveredCells / (GRID * GRID);
+	}
+
+	public double overdraw() {
+		return this.coveredCells == 0 ? 0 : (double) this.fragments / this.coveredCells;
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		final int f = Math.max(this.frames, 1);
+		return String.format(Locale.ROOT,
+				"%s: %d verts/frame, %d prims/frame, %d bytes/frame, %d draws/frame, %.3fms/frame, coverage %.1f%%, overdraw %.2fx, crc %08x",
+				this.name, this.vertices / f, this.primitives / f, this.bytes / f, this.draws / f,
+				this.nanos / 1E6D / f, coverage() * 100D, overdraw(), this.crc.getValue());
+	}
+}
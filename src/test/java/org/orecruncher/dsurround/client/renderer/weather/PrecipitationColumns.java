@@ -0,0 +1,65 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+
+/**
+ * Lays out the columns of a PrecipitationColumnCache without a world so the
+ * mesh can be driven from tests. Only meant for a cache that has never been
+ * updated from a world.
+ */
+public final class PrecipitationColumns {
+
+	private PrecipitationColumns() {
+
+	}
+
+	/**
+	 * Fills the cache with identical columns around the specified center.
+	 * Individual columns can be changed afterwards through the cache arrays.
+	 */
+	public static void fill(@Nonnull final PrecipitationColumnCache columns, final int centerX, final int centerZ,
+			final int range, @Nonnull final PrecipitationType pt, final int bottom, final int top, final int light) {
+		columns.range = range;
+		columns.centerX = centerX;
+		columns.centerY = 0;
+		columns.centerZ = centerZ;
+
+		for (int dZ = -range; dZ <= range; dZ++) {
+			for (int dX = -range; dX <= range; dX++) {
+				final int idx = columns.index(dX, dZ);
+				columns.type[idx] = pt;
+				columns.biome[idx] = null;
+				columns.bottom[idx] = bottom;
+				columns.top[idx] = top;
+				columns.light[idx] = light;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+import org.lwjgl.opengl.GL11;
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Compares the baked rain quads of PrecipitationMesh with what the immediate
+ * mode StormRenderer used to write into the BufferBuilder for the same
+ * columns. Texture, color and lightmap have to match byte for byte. Positions
+ * were computed in double before and in float now, so they only have to match
+ * within float precision.
+ */
+public class PrecipitationMeshTest {
+
+	private static final int RANGE = 10;
+	private static final int CENTER_X = 1234;
+	private static final int CENTER_Z = -567;
+	private static final double VIEW_X = CENTER_X + 0.3D;
+	private static final double VIEW_Z = CENTER_Z + 0.8D;
+	private static final float ALPHA_RATIO = 0.75F;
+
+	private static final int VERTEX_BYTES = 28;
+	private static final int TEX_OFFSET = 12;
+	private static final float POSITION_TOLERANCE = 1E-4F;
+
+	private static final double[] RAIN_X_COORDS = new double[1024];
+	private static final double[] RAIN_Y_COORDS = new double[1024];
+
+	static {
+		for (int i = 0; i < 32; ++i) {
+			for (int j = 0; j < 32; ++j) {
+				final double f2 = j - 16;
+				final double f3 = i - 16;
+				final double f4 = MathHelper.sqrt(f2 * f2 + f3 * f3);
+				RAIN_X_COORDS[i << 5 | j] = (-f3 / f4) * 0.5D;
+				RAIN_Y_COORDS[i << 5 | j] = (f2 / f4) * 0.5D;
+			}
+		}
+	}
+
+	private final BufferBuilder buffer = new BufferBuilder(1 << 16);
+	private final Random random = new XorShiftRandom();
+
+	@Test
+	public void matchesImmediateMode() {
+		final PrecipitationColumnCache columns = columns();
+		final PrecipitationMesh mesh = new PrecipitationMesh();
+		mesh.rebuild(columns);
+
+		for (final int renderCount : new int[] { 0, 7, 31, 1000 }) {
+			final ByteBuffer expected = immediate(columns, renderCount, 0.25F);
+			final ByteBuffer actual = mesh.animateRain(renderCount, 0.25F, VIEW_X, VIEW_Z, RANGE, ALPHA_RATIO);
+			assertEquals(this.buffer.getVertexCount(), mesh.getQuadCount(PrecipitationMesh.RAIN) * 4);
+			assertEquals(expected.limit(), actual.limit());
+			compare(expected, actual, this.buffer.getVertexCount());
+		}
+	}
+
+	/**
+	 * Rain columns around a center away from the origin with varying heights and
+	 * light. Some columns have no precipitation.
+	 */
+	@Nonnull
+	private static PrecipitationColumnCache columns() {
+		final PrecipitationColumnCache columns = new PrecipitationColumnCache(RANGE);
+		PrecipitationColumns.fill(columns, CENTER_X, CENTER_Z, RANGE, PrecipitationType.RAIN, 0, 0, 0);
+		final Random random = new Random(42L);
+		for (int dZ = -RANGE; dZ <= RANGE; dZ++) {
+			for (int dX = -RANGE; dX <= RANGE; dX++) {
+				final int idx = columns.index(dX, dZ);
+				if (random.nextInt(5) == 0) {
+					columns.type[idx] = PrecipitationType.NONE;
+					continue;
+				}
+				columns.bottom[idx] = 50 + random.nextInt(20);
+				columns.top[idx] = columns.bottom[idx] + 1 + random.nextInt(30);
+				columns.light[idx] = random.nextInt(16) << 20 | random.nextInt(16) << 4;
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * What StormRenderer wrote for the rain columns before the quads were baked.
+	 * The translation puts the positions relative to the column at the center,
+	 * the same as the mesh.
+	 */
+	@Nonnull
+	private ByteBuffer immediate(@Nonnull final PrecipitationColumnCache columns, final int renderCount,
+			final float partialTicks) {
+		final int playerX = columns.getCenterX();
+		final int playerZ = columns.getCenterZ();
+
+		this.buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+		this.buffer.setTranslation(-playerX, 0, -playerZ);
+
+		for (int gridZ = playerZ - RANGE; gridZ <= playerZ + RANGE; ++gridZ) {
+			for (int gridX = playerX - RANGE; gridX <= playerX + RANGE; ++gridX) {
+				final int idx = (gridZ - playerZ + 16) * 32 + gridX - playerX + 16;
+				final double rainX = RAIN_X_COORDS[idx];
+				final double rainY = RAIN_Y_COORDS[idx];
+
+				final int column = columns.index(gridX - playerX, gridZ - playerZ);
+				if (columns.type[column] != PrecipitationType.RAIN)
+					continue;
+
+				final int k2 = columns.bottom[column];
+				final int l2 = columns.top[column];
+				final int combinedLight = columns.light[column];
+
+				final int seed = (gridZ << 16) ^ gridX;
+				this.random.setSeed(seed);
+
+				final double d6 = gridX + 0.5F - VIEW_X;
+				final double d7 = gridZ + 0.5F - VIEW_Z;
+				final float f3 = MathHelper.sqrt(d6 * d6 + d7 * d7) / RANGE;
+
+				final double d5 = ((double) (renderCount + seed & 31) + (double) partialTicks) / 32.0D
+						* (3.0D + this.random.nextDouble());
+
+				final float alpha = ((1.0F - f3 * f3) * 0.5F + 0.5F) * ALPHA_RATIO;
+				final int slX16 = combinedLight >> 16 & 65535;
+				final int blX16 = combinedLight & 65535;
+
+				this.buffer.pos(gridX - rainX + 0.5D, k2, gridZ - rainY + 0.5D).tex(0.0D, k2 * 0.25D + d5)
+						.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
+				this.buffer.pos(gridX + rainX + 0.5D, k2, gridZ + rainY + 0.5D).tex(1.0D, k2 * 0.25D + d5)
+						.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
+				this.buffer.pos(gridX + rainX + 0.5D, l2, gridZ + rainY + 0.5D).tex(1.0D, l2 * 0.25D + d5)
+						.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
+				this.buffer.pos(gridX - rainX + 0.5D, l2, gridZ - rainY + 0.5D).tex(0.0D, l2 * 0.25D + d5)
+						.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
+			}
+		}
+
+		this.buffer.finishDrawing();
+		this.buffer.setTranslation(0, 0, 0);
+		return this.buffer.getByteBuffer();
+	}
+
+	private static void compare(@Nonnull final ByteBuffer expected, @Nonnull final ByteBuffer actual,
+			final int vertices) {
+		for (int v = 0; v < vertices; v++) {
+			final int base = v * VERTEX_BYTES;
+			for (int p = 0; p < TEX_OFFSET; p += 4) {
+				final float e = expected.getFloat(base + p);
+				final float a = actual.getFloat(base + p);
+				// The column the player stands in has no direction in the table
+				if (Float.isNaN(e))
+					assertTrue("vertex " + v, Float.isNaN(a));
+				else
+					assertEquals("vertex " + v, e, a, POSITION_TOLERANCE);
+			}
+			for (int b = TEX_OFFSET; b < VERTEX_BYTES; b++)
+				assertEquals("vertex " + v + " byte " + b, expected.get(base + b), actual.get(base + b));
+		}
+	}
+
+}